@@ -0,0 +1,69 @@
+package com.example.AddressBookApp.cache;
+
+import com.example.AddressBookApp.dto.ContactDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Encode/decode time of a List<ContactDTO> value per Redis value serializer; the
+// encoded size of each is printed once per trial. codec=compact-raw disables LZ4.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheValueCodecBenchmark {
+
+    @Param({"1", "50", "500"})
+    public int size;
+
+    @Param({"json", "jdk", "compact", "compact-raw"})
+    public String codec;
+
+    private RedisSerializer<Object> serializer;
+    private List<ContactDTO> contacts;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        serializer = switch (codec) {
+            case "json" -> new GenericJackson2JsonRedisSerializer();
+            case "jdk" -> RedisSerializer.java();
+            case "compact" -> new CacheValueCodec(ContactCacheSchemas.all(), RedisSerializer.java(), 1024);
+            case "compact-raw" -> new CacheValueCodec(ContactCacheSchemas.all(), RedisSerializer.java(), Integer.MAX_VALUE);
+            default -> throw new IllegalArgumentException(codec);
+        };
+        contacts = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            contacts.add(new ContactDTO(i, "Contact " + i, "98765" + String.format("%05d", i),
+                    "contact" + i + "@example.com", i + " Baker Street, London", 0L));
+        }
+        encoded = serializer.serialize(contacts);
+        System.out.printf("%n[size] codec=%s contacts=%d bytes=%d%n", codec, size, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(contacts);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+}
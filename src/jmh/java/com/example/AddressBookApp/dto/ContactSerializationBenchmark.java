@@ -0,0 +1,75 @@
+package com.example.AddressBookApp.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// ContactDTO lists as written to HTTP responses (plain Jackson) and to Redis through
+// GenericJackson2JsonRedisSerializer (cache.codec.type=json; see CacheValueCodecBenchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContactSerializationBenchmark {
+
+    private static final TypeReference<List<ContactDTO>> CONTACT_LIST = new TypeReference<>() {
+    };
+
+    @Param({"1", "50", "500"})
+    public int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GenericJackson2JsonRedisSerializer redisSerializer = new GenericJackson2JsonRedisSerializer();
+    private List<ContactDTO> contacts;
+    private byte[] json;
+    private byte[] redisBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        contacts = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            contacts.add(new ContactDTO(i, "Contact " + i, "98765" + String.format("%05d", i),
+                    "contact" + i + "@example.com", i + " Baker Street, London"));
+        }
+        json = objectMapper.writeValueAsBytes(contacts);
+        redisBytes = redisSerializer.serialize(contacts);
+    }
+
+    @Benchmark
+    public byte[] jacksonWrite() throws IOException {
+        return objectMapper.writeValueAsBytes(contacts);
+    }
+
+    @Benchmark
+    public List<ContactDTO> jacksonRead() throws IOException {
+        return objectMapper.readValue(json, CONTACT_LIST);
+    }
+
+    @Benchmark
+    public Object redisSerializerRoundTrip() {
+        return redisSerializer.deserialize(redisSerializer.serialize(contacts));
+    }
+
+    @Benchmark
+    public Object redisSerializerRead() {
+        return redisSerializer.deserialize(redisBytes);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.AddressBookApp.search;
+
+import com.example.AddressBookApp.model.Contact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Query latency of the in-memory search index with every contact under one owner, the
+// worst case for a single query. Emails carry a per-contact number, so a short prefix of
+// them ("js") expands past MAX_PREFIX_TERMS and exercises the capped path.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ContactSearchIndexBenchmark {
+
+    private static final Long OWNER_ID = 7L;
+    private static final int LIMIT = 20;
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Alice", "Bob", "Priya", "Rahul", "Maria", "Chen",
+            "Fatima", "Oliver", "Amelia", "Noah", "Sofia", "Liam", "Aisha", "Lucas", "Emma", "Arjun", "Mei", "Omar"};
+    private static final String[] LAST_NAMES = {"Smith", "Jones", "Sharma", "Patel", "Garcia", "Wang", "Khan", "Brown",
+            "Taylor", "Wilson", "Singh", "Lopez", "Nguyen", "Kim", "Müller", "Rossi", "Silva", "Cohen", "Ali", "Evans"};
+    private static final String[] STREETS = {"Baker", "Elm", "High", "Station", "Church", "Park", "Victoria", "Mill"};
+    private static final String[] CITIES = {"London", "Leeds", "Mumbai", "Pune", "Madrid", "Berlin", "Toronto", "Lagos"};
+
+    @Param({"1000000"})
+    public int contacts;
+
+    private ContactSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new ContactSearchIndex();
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= contacts; id++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            Contact contact = new Contact(id, first + " " + last, "98765" + String.format("%05d", id % 100000),
+                    (first.charAt(0) + last).toLowerCase(Locale.ROOT) + id + "@example.com",
+                    (1 + random.nextInt(999)) + " " + STREETS[random.nextInt(STREETS.length)] + " Road, "
+                            + CITIES[random.nextInt(CITIES.length)]);
+            contact.setOwnerId(OWNER_ID);
+            index.index(contact);
+        }
+        System.out.printf("%n[index] contacts=%d%n", index.size());
+    }
+
+    // One common surname prefix
+    @Benchmark
+    public Object singleToken() {
+        return index.find(OWNER_ID, "smi", LIMIT);
+    }
+
+    // Two tokens that each match tens of thousands of contacts
+    @Benchmark
+    public Object twoTokens() {
+        return index.find(OWNER_ID, "john lond", LIMIT);
+    }
+
+    // A narrow token driving a broad one
+    @Benchmark
+    public Object selectiveToken() {
+        return index.find(OWNER_ID, "jsmith4242 london", LIMIT);
+    }
+
+    // Expands past MAX_PREFIX_TERMS and is checked per candidate driven by "patel"
+    @Benchmark
+    public Object cappedPrefix() {
+        return index.find(OWNER_ID, "jp patel", LIMIT);
+    }
+
+    // As above, but no Patel has a "js..." email: runs through the whole candidate budget
+    @Benchmark
+    public Object cappedPrefixNoMatch() {
+        return index.find(OWNER_ID, "js patel", LIMIT);
+    }
+
+    // Every token capped: answered from the first MAX_PREFIX_TERMS terms, flagged truncated
+    @Benchmark
+    public Object cappedOnly() {
+        return index.find(OWNER_ID, "js", LIMIT);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.AddressBookApp.service;
+
+import com.example.AddressBookApp.dto.ContactDTO;
+import com.example.AddressBookApp.model.Contact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Entity <-> DTO mapping done for every contact read or written through ContactService
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContactServiceBenchmark {
+
+    private ContactService contactService;
+    private Contact contact;
+    private ContactDTO contactDTO;
+
+    @Setup
+    public void setUp() {
+        // The converters touch none of the collaborators
+        contactService = new ContactService(null, null, null, null, null);
+        contact = new Contact(42L, "John Doe", "9876543210", "john.doe@example.com", "12 Baker Street, London");
+        contact.setOwnerId(7L);
+        contactDTO = new ContactDTO(42L, "John Doe", "9876543210", "john.doe@example.com", "12 Baker Street, London");
+    }
+
+    @Benchmark
+    public ContactDTO convertToDTO() {
+        return ContactService.convertToDTO(contact);
+    }
+
+    @Benchmark
+    public Contact convertToEntity() {
+        return contactService.convertToEntity(7L, contactDTO);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.AddressBookApp.validation;
+
+import com.example.AddressBookApp.dto.ContactDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Validation run by ContactController.validateContact and the bulk importer for every contact
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContactValidatorBenchmark {
+
+    private final ContactDTO valid =
+            new ContactDTO(null, "John Doe", "9876543210", "john.doe@example.com", "12 Baker Street, London");
+    private final ContactDTO invalid =
+            new ContactDTO(null, "J0hn!", "12345", "not-an-email", "");
+    private final ContactValidator validator = new ContactValidator();
+
+    @Benchmark
+    public List<String> validContact() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public List<String> invalidContact() {
+        return validator.validate(invalid);
+    }
+}
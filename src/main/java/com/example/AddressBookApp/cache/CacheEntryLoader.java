@@ -0,0 +1,10 @@
+package com.example.AddressBookApp.cache;
+
+// Loads the current value for one cache key, bypassing the cache, through the bean that
+// owns the cache so its interceptors (transactions, metrics) apply. Returns null when
+// the entry no longer exists.
+@FunctionalInterface
+public interface CacheEntryLoader {
+
+    Object load(Object key);
+}
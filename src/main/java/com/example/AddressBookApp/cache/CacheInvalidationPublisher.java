@@ -0,0 +1,112 @@
+package com.example.AddressBookApp.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// Broadcasts L1 invalidations over Redis pub/sub and applies the ones sent by other nodes.
+// Message format: "<nodeId>|E|<cache>|<key>" for a single key, "<nodeId>|C|<cache>" for a clear,
+// "<nodeId>|R|<id>,<id>,..." for contact rows whose derived in-memory state (the search
+// index) the other nodes should rebuild from the database.
+@Slf4j
+public class CacheInvalidationPublisher implements MessageListener {
+
+    public static final String CHANNEL = "addressbook:cache-invalidation";
+    static final int MAX_IDS_PER_MESSAGE = 500;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private TwoLevelCacheManager cacheManager;
+    private volatile Consumer<List<Long>> contactChangeListener;
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    void setCacheManager(TwoLevelCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void publishEvict(String cacheName, String localKey) {
+        send(nodeId + "|E|" + cacheName + "|" + localKey);
+    }
+
+    public void publishClear(String cacheName) {
+        send(nodeId + "|C|" + cacheName);
+    }
+
+    public void publishContactsChanged(Collection<Long> ids) {
+        StringBuilder message = new StringBuilder();
+        int inMessage = 0;
+        for (Long id : ids) {
+            if (inMessage == MAX_IDS_PER_MESSAGE) {
+                send(message.toString());
+                message.setLength(0);
+                inMessage = 0;
+            }
+            message.append(inMessage == 0 ? nodeId + "|R|" : ",").append(id);
+            inMessage++;
+        }
+        if (inMessage > 0) {
+            send(message.toString());
+        }
+    }
+
+    // Receives the ids of contacts changed on other nodes
+    public void setContactChangeListener(Consumer<List<Long>> contactChangeListener) {
+        this.contactChangeListener = contactChangeListener;
+    }
+
+    private void send(String message) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (Exception e) {
+            // The L1 TTL still bounds staleness on the other nodes
+            log.warn("Failed to publish cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        if ("R".equals(parts[1])) {
+            onContactsChanged(parts[2]);
+            return;
+        }
+        if (cacheManager == null) {
+            return;
+        }
+        if ("C".equals(parts[1])) {
+            cacheManager.onRemoteClear(parts[2]);
+        } else if ("E".equals(parts[1]) && parts.length == 4) {
+            cacheManager.onRemoteEvict(parts[2], parts[3]);
+        }
+    }
+
+    private void onContactsChanged(String idList) {
+        Consumer<List<Long>> listener = contactChangeListener;
+        if (listener == null) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>();
+        for (String id : idList.split(",")) {
+            ids.add(Long.valueOf(id));
+        }
+        try {
+            listener.accept(ids);
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply contact changes from another node: {}", e.getMessage());
+        }
+    }
+}
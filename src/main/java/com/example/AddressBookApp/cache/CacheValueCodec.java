@@ -0,0 +1,270 @@
+package com.example.AddressBookApp.cache;
+
+import com.example.AddressBookApp.logging.LogSampler;
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+// Compact RedisSerializer for cache values. Every value starts with a 4-byte header
+//
+//     magic 0xCB | format version | flags (bit 0: LZ4) | schema tag
+//
+// followed by the schema's field-by-field encoding (no class or field names). Payloads of
+// at least compressionThreshold bytes are LZ4-compressed behind a varint of their raw
+// length, if that makes them smaller. Values no schema supports get tag 0 and are
+// written by the fallback serializer.
+//
+// Reading rolls forward safely: a foreign magic (JDK/JSON bytes from before this codec),
+// a newer format version, unknown flags or an unknown schema tag decode to null, which
+// RedisCache treats as a miss, so the entry is reloaded and rewritten in a format this
+// node understands.
+@Slf4j
+public final class CacheValueCodec implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xCB;
+    static final byte FORMAT_VERSION = 1;
+    static final int HEADER_LENGTH = 4;
+    static final int FLAG_LZ4 = 1;
+    private static final int FALLBACK_TAG = 0;
+    // Bounds the allocation a corrupt length prefix can cause
+    private static final int MAX_DECODED_LENGTH = 64 * 1024 * 1024;
+    private static final byte[] EMPTY = new byte[0];
+    private static final LogSampler CORRUPT_LOG = LogSampler.perSecond(1);
+
+    private final CacheValueSchema<?>[] schemasByTag = new CacheValueSchema<?>[256];
+    private final List<CacheValueSchema<?>> schemas;
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor;
+    private final LZ4SafeDecompressor decompressor;
+
+    public CacheValueCodec(List<CacheValueSchema<?>> schemas, RedisSerializer<Object> fallback, int compressionThreshold) {
+        for (CacheValueSchema<?> schema : schemas) {
+            int tag = schema.tag();
+            if (tag <= FALLBACK_TAG || tag > 255) {
+                throw new IllegalArgumentException("Schema tag must be between 1 and 255: " + tag);
+            }
+            if (schemasByTag[tag] != null) {
+                throw new IllegalArgumentException("Duplicate schema tag: " + tag);
+            }
+            schemasByTag[tag] = schema;
+        }
+        this.schemas = List.copyOf(schemas);
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.safeDecompressor();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(Object value) {
+        if (value == null) {
+            return EMPTY;
+        }
+        CacheValueSchema<Object> schema = (CacheValueSchema<Object>) schemaFor(value);
+        Output out = new Output(256);
+        out.writeByte(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(0);
+        out.writeByte(schema == null ? FALLBACK_TAG : schema.tag());
+        if (schema == null) {
+            out.writeBytes(fallback.serialize(value));
+        } else {
+            schema.write(value, out);
+        }
+
+        int rawLength = out.size - HEADER_LENGTH;
+        if (rawLength >= compressionThreshold) {
+            byte[] compressed = compress(out.buffer, rawLength);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+        return Arrays.copyOf(out.buffer, out.size);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes.length < HEADER_LENGTH || bytes[0] != MAGIC || bytes[1] < 1 || bytes[1] > FORMAT_VERSION
+                || (bytes[2] & ~FLAG_LZ4) != 0) {
+            return null;
+        }
+        int tag = bytes[3] & 0xff;
+        CacheValueSchema<?> schema = schemasByTag[tag];
+        if (tag != FALLBACK_TAG && schema == null) {
+            return null;
+        }
+
+        try {
+            Input in = (bytes[2] & FLAG_LZ4) != 0 ? decompress(bytes) : new Input(bytes, HEADER_LENGTH, bytes.length);
+            return schema == null ? fallback.deserialize(in.remaining()) : schema.read(in);
+        } catch (RuntimeException e) {
+            // A corrupt entry is a miss; the reload overwrites it
+            if (CORRUPT_LOG.sample()) {
+                log.warn("Dropping undecodable cache value (tag {}, {} bytes): {}", tag, bytes.length, e.toString());
+            }
+            return null;
+        }
+    }
+
+    private CacheValueSchema<?> schemaFor(Object value) {
+        for (CacheValueSchema<?> schema : schemas) {
+            if (schema.supports(value)) {
+                return schema;
+            }
+        }
+        return null;
+    }
+
+    // Header with the LZ4 flag, varint raw length, block; null when it doesn't pay off
+    private byte[] compress(byte[] raw, int rawLength) {
+        int maxBlockLength = compressor.maxCompressedLength(rawLength);
+        Output out = new Output(HEADER_LENGTH + 5 + maxBlockLength);
+        out.writeByte(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(FLAG_LZ4);
+        out.writeByte(raw[3]);
+        out.writeVarInt(rawLength);
+        int blockLength = compressor.compress(raw, HEADER_LENGTH, rawLength, out.buffer, out.size, maxBlockLength);
+        int total = out.size + blockLength;
+        return total < HEADER_LENGTH + rawLength ? Arrays.copyOf(out.buffer, total) : null;
+    }
+
+    private Input decompress(byte[] bytes) {
+        Input header = new Input(bytes, HEADER_LENGTH, bytes.length);
+        int rawLength = header.readVarInt();
+        if (rawLength < 0 || rawLength > MAX_DECODED_LENGTH) {
+            throw new SerializationException("Invalid decompressed length " + rawLength);
+        }
+        byte[] raw = new byte[rawLength];
+        int decoded = decompressor.decompress(bytes, header.position, bytes.length - header.position, raw, 0, rawLength);
+        if (decoded != rawLength) {
+            throw new SerializationException("Decompressed " + decoded + " bytes, expected " + rawLength);
+        }
+        return new Input(raw, 0, rawLength);
+    }
+
+    // Growable write buffer: unsigned varints for lengths, zigzag varints for longs
+    public static final class Output {
+
+        private byte[] buffer;
+        private int size;
+
+        Output(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        public void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        public void writeVarInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7f) != 0) {
+                buffer[size++] = (byte) ((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        public void writeVarLong(long value) {
+            ensureCapacity(10);
+            long zigzag = (value << 1) ^ (value >> 63);
+            while ((zigzag & ~0x7fL) != 0) {
+                buffer[size++] = (byte) ((zigzag & 0x7f) | 0x80);
+                zigzag >>>= 7;
+            }
+            buffer[size++] = (byte) zigzag;
+        }
+
+        public void writeString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(utf8.length);
+            writeBytes(utf8);
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    // Bounds-checked reader over a payload; truncated input throws instead of reading garbage
+    public static final class Input {
+
+        private final byte[] buffer;
+        private final int limit;
+        private int position;
+
+        Input(byte[] buffer, int position, int limit) {
+            this.buffer = buffer;
+            this.position = position;
+            this.limit = limit;
+        }
+
+        public int readByte() {
+            if (position >= limit) {
+                throw new SerializationException("Truncated cache value");
+            }
+            return buffer[position++] & 0xff;
+        }
+
+        public int readVarInt() {
+            int result = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                result |= (b & 0x7f) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new SerializationException("Malformed varint");
+        }
+
+        public long readVarLong() {
+            long zigzag = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                int b = readByte();
+                zigzag |= (long) (b & 0x7f) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new SerializationException("Malformed varlong");
+        }
+
+        public String readString() {
+            int length = readVarInt();
+            if (length < 0 || length > limit - position) {
+                throw new SerializationException("Truncated cache value");
+            }
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        byte[] remaining() {
+            return Arrays.copyOfRange(buffer, position, limit);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.AddressBookApp.cache;
+
+// Binary layout of one cached value type for CacheValueCodec. The tag (1-255) is written
+// into every value and must stay stable while values are in Redis: a layout change gets
+// a new tag, so nodes still on the old layout read the new values as misses.
+public interface CacheValueSchema<T> {
+
+    int tag();
+
+    boolean supports(Object value);
+
+    void write(T value, CacheValueCodec.Output out);
+
+    T read(CacheValueCodec.Input in);
+}
@@ -0,0 +1,158 @@
+package com.example.AddressBookApp.cache;
+
+import com.example.AddressBookApp.dto.ContactDTO;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// CacheValueCodec layouts for ContactDTO values (the "contacts" cache) and lists of
+// them (List<ContactDTO>). A contact is a presence byte, one bit per field, followed by
+// the non-null fields in declaration order: id and version as varints, strings as
+// length-prefixed UTF-8. A list is a varint count followed by its contacts.
+public final class ContactCacheSchemas {
+
+    public static final CacheValueSchema<ContactDTO> CONTACT = new ContactSchema();
+    public static final CacheValueSchema<List<ContactDTO>> CONTACT_LIST = new ContactListSchema();
+
+    private static final int ID = 1;
+    private static final int NAME = 1 << 1;
+    private static final int PHONE_NUMBER = 1 << 2;
+    private static final int EMAIL = 1 << 3;
+    private static final int ADDRESS = 1 << 4;
+    private static final int VERSION = 1 << 5;
+    private static final int ALL_FIELDS = (1 << 6) - 1;
+
+    private ContactCacheSchemas() {
+    }
+
+    public static List<CacheValueSchema<?>> all() {
+        return List.of(CONTACT, CONTACT_LIST);
+    }
+
+    // Exact class only: a subclass's extra state would be silently dropped
+    private static boolean isContact(Object value) {
+        return value != null && value.getClass() == ContactDTO.class;
+    }
+
+    private static void writeContact(ContactDTO contact, CacheValueCodec.Output out) {
+        int present = (contact.getId() != null ? ID : 0)
+                | (contact.getName() != null ? NAME : 0)
+                | (contact.getPhoneNumber() != null ? PHONE_NUMBER : 0)
+                | (contact.getEmail() != null ? EMAIL : 0)
+                | (contact.getAddress() != null ? ADDRESS : 0)
+                | (contact.getVersion() != null ? VERSION : 0);
+        out.writeByte(present);
+        if ((present & ID) != 0) {
+            out.writeVarLong(contact.getId());
+        }
+        if ((present & NAME) != 0) {
+            out.writeString(contact.getName());
+        }
+        if ((present & PHONE_NUMBER) != 0) {
+            out.writeString(contact.getPhoneNumber());
+        }
+        if ((present & EMAIL) != 0) {
+            out.writeString(contact.getEmail());
+        }
+        if ((present & ADDRESS) != 0) {
+            out.writeString(contact.getAddress());
+        }
+        if ((present & VERSION) != 0) {
+            out.writeVarLong(contact.getVersion());
+        }
+    }
+
+    private static ContactDTO readContact(CacheValueCodec.Input in) {
+        int present = in.readByte();
+        if ((present & ~ALL_FIELDS) != 0) {
+            throw new SerializationException("Unknown contact fields: " + Integer.toBinaryString(present));
+        }
+        ContactDTO contact = new ContactDTO();
+        if ((present & ID) != 0) {
+            contact.setId(in.readVarLong());
+        }
+        if ((present & NAME) != 0) {
+            contact.setName(in.readString());
+        }
+        if ((present & PHONE_NUMBER) != 0) {
+            contact.setPhoneNumber(in.readString());
+        }
+        if ((present & EMAIL) != 0) {
+            contact.setEmail(in.readString());
+        }
+        if ((present & ADDRESS) != 0) {
+            contact.setAddress(in.readString());
+        }
+        if ((present & VERSION) != 0) {
+            contact.setVersion(in.readVarLong());
+        }
+        return contact;
+    }
+
+    private static final class ContactSchema implements CacheValueSchema<ContactDTO> {
+
+        @Override
+        public int tag() {
+            return 1;
+        }
+
+        @Override
+        public boolean supports(Object value) {
+            return isContact(value);
+        }
+
+        @Override
+        public void write(ContactDTO value, CacheValueCodec.Output out) {
+            writeContact(value, out);
+        }
+
+        @Override
+        public ContactDTO read(CacheValueCodec.Input in) {
+            return readContact(in);
+        }
+    }
+
+    private static final class ContactListSchema implements CacheValueSchema<List<ContactDTO>> {
+
+        @Override
+        public int tag() {
+            return 2;
+        }
+
+        @Override
+        public boolean supports(Object value) {
+            if (!(value instanceof List<?> list)) {
+                return false;
+            }
+            for (Object element : list) {
+                if (!isContact(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void write(List<ContactDTO> value, CacheValueCodec.Output out) {
+            out.writeVarInt(value.size());
+            for (ContactDTO contact : value) {
+                writeContact(contact, out);
+            }
+        }
+
+        @Override
+        public List<ContactDTO> read(CacheValueCodec.Input in) {
+            int size = in.readVarInt();
+            if (size < 0) {
+                throw new SerializationException("Invalid list size " + size);
+            }
+            // Every contact takes at least its presence byte, so a corrupt size fails fast
+            List<ContactDTO> contacts = new ArrayList<>(Math.min(size, 1024));
+            for (int i = 0; i < size; i++) {
+                contacts.add(readContact(in));
+            }
+            return contacts;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.AddressBookApp.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// MGET and pipelined SET NX EX against RedisCache entries, using the cache's own key
+// prefix and serializers so entries stay interchangeable with RedisCache.get/put.
+// Single-node Redis: in a cluster the keys of one MGET would have to share a slot.
+public class RedisCacheBatchOperations implements RemoteCacheBatchOperations {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    public RedisCacheBatchOperations(RedisConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public List<Object> getAll(Cache remote, List<String> keys) {
+        if (!(remote instanceof RedisCache redisCache) || keys.isEmpty()) {
+            return RemoteCacheBatchOperations.super.getAll(remote, keys);
+        }
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        byte[][] rawKeys = new byte[keys.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = rawKey(redisCache, keys.get(i));
+        }
+
+        List<byte[]> rawValues;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            rawValues = connection.stringCommands().mGet(rawKeys);
+        }
+        List<Object> values = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] raw = rawValues == null ? null : rawValues.get(i);
+            values.add(raw == null ? null : config.getValueSerializationPair().read(ByteBuffer.wrap(raw)));
+        }
+        return values;
+    }
+
+    @Override
+    public void putAllIfAbsent(Cache remote, Map<String, Object> entries, Duration ttl) {
+        if (!(remote instanceof RedisCache redisCache) || entries.isEmpty()) {
+            RemoteCacheBatchOperations.super.putAllIfAbsent(remote, entries, ttl);
+            return;
+        }
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        Expiration expiration = Expiration.from(ttl);
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            entries.forEach((key, value) -> connection.stringCommands().set(rawKey(redisCache, key),
+                    bytes(config.getValueSerializationPair().write(value)), expiration, SetOption.ifAbsent()));
+            connection.closePipeline();
+        }
+    }
+
+    // Same bytes RedisCache itself uses: prefix + key, through the key serializer
+    private static byte[] rawKey(RedisCache cache, String key) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        String prefixed = config.usePrefix() ? config.getKeyPrefixFor(cache.getName()) + key : key;
+        return bytes(config.getKeySerializationPair().write(prefixed));
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.AddressBookApp.cache;
+
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Multi-key access to the L2 cache. The default goes key by key, which is all a generic
+// Cache offers; RedisCacheBatchOperations does each call in a single round trip.
+public interface RemoteCacheBatchOperations {
+
+    RemoteCacheBatchOperations ONE_BY_ONE = new RemoteCacheBatchOperations() {
+    };
+
+    // Values aligned with keys, null for a miss
+    default List<Object> getAll(Cache remote, List<String> keys) {
+        List<Object> values = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Cache.ValueWrapper wrapper = remote.get(key);
+            values.add(wrapper == null ? null : wrapper.get());
+        }
+        return values;
+    }
+
+    // Never overwrites an entry that is already there
+    default void putAllIfAbsent(Cache remote, Map<String, Object> entries, Duration ttl) {
+        entries.forEach(remote::putIfAbsent);
+    }
+}
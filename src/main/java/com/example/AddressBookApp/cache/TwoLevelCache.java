@@ -0,0 +1,335 @@
+package com.example.AddressBookApp.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Caffeine L1 in front of a Redis L2. Writes go to both tiers and tell the other
+// nodes to drop their L1 copy; reads only touch Redis on an L1 miss.
+//
+// Loads through get(key, loader) (@Cacheable(sync = true)) are single-flight per key,
+// and entries this node loaded are refreshed probabilistically before the Redis TTL
+// runs out (XFetch), so a hot key never expires under load. Early refresh needs a
+// CacheEntryLoader from the owning bean; without one entries simply expire.
+//
+// A loaded value is only cached if the key was not written, evicted or invalidated by
+// another node while it was being read (see writeStamps), so a delete or update that
+// lands mid-load is never overwritten by the value read before it.
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    // When this node last loaded a key, and how long that load took
+    private record LoadStamp(long expiresAtNanos, long computeNanos) {
+    }
+
+    // Striped write counters: colliding keys only cost a skipped cache fill
+    private static final int WRITE_STAMP_STRIPES = 1024;
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final CacheInvalidationPublisher publisher;
+    private final Duration remoteTtl;
+    private final double refreshBeta;
+    private final Executor refreshExecutor;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final com.github.benmanes.caffeine.cache.Cache<String, LoadStamp> loadStamps;
+    private final TwoLevelCacheMetrics metrics;
+    private final RemoteCacheBatchOperations batchOperations;
+    private final AtomicLongArray writeStamps = new AtomicLongArray(WRITE_STAMP_STRIPES);
+    private volatile CacheEntryLoader refreshLoader;
+
+    public TwoLevelCache(String name, Cache remote, CacheInvalidationPublisher publisher,
+                         TwoLevelCacheSettings settings, Executor refreshExecutor, MeterRegistry meterRegistry,
+                         RemoteCacheBatchOperations batchOperations) {
+        super(false);
+        this.name = name;
+        this.remote = remote;
+        this.batchOperations = batchOperations;
+        this.publisher = publisher;
+        this.remoteTtl = settings.remoteTtl();
+        this.refreshBeta = settings.refreshBeta();
+        this.refreshExecutor = refreshExecutor;
+        // Caffeine's size eviction is W-TinyLFU
+        this.local = Caffeine.newBuilder()
+                .maximumSize(settings.localMaximumSize())
+                .expireAfterWrite(settings.localTtl())
+                .build();
+        this.loadStamps = Caffeine.newBuilder()
+                .maximumSize(settings.localMaximumSize())
+                .expireAfterWrite(settings.remoteTtl())
+                .build();
+        this.metrics = new TwoLevelCacheMetrics(name, meterRegistry, local);
+    }
+
+    // L1 keys use the string form so invalidation messages from other nodes can match them
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    // Reloads an entry through the owning bean's proxy for early refresh. The valueLoader
+    // handed to get(key, loader) is the caller's method invocation and must not be reused
+    public void setRefreshLoader(CacheEntryLoader refreshLoader) {
+        this.refreshLoader = refreshLoader;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            metrics.localHits.increment();
+            return value;
+        }
+        long start = System.nanoTime();
+        ValueWrapper wrapper = remote.get(key);
+        metrics.remoteGet.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (wrapper == null || wrapper.get() == null) {
+            metrics.misses.increment();
+            return null;
+        }
+        metrics.remoteHits.increment();
+        value = wrapper.get();
+        local.put(localKey, value);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object value = lookup(key);
+        if (value != null) {
+            CacheEntryLoader loader = refreshLoader;
+            if (loader != null && shouldRefreshEarly(localKey)) {
+                refreshAsync(key, localKey, () -> loader.load(key));
+            }
+            return (T) value;
+        }
+        return (T) load(key, localKey, valueLoader);
+    }
+
+    // Concurrent misses for the same key wait on the first caller's load
+    private Object load(Object key, String localKey, Callable<?> valueLoader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(localKey, mine);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+
+        try {
+            long writeStamp = writeStamp(localKey);
+            long start = System.nanoTime();
+            Object loaded = valueLoader.call();
+            long end = System.nanoTime();
+            metrics.load.record(end - start, TimeUnit.NANOSECONDS);
+            if (loaded != null) {
+                putLoaded(key, localKey, loaded, writeStamp, new LoadStamp(end + remoteTtl.toNanos(), end - start));
+            }
+            mine.complete(loaded);
+            return loaded;
+        } catch (Exception e) {
+            mine.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlight.remove(localKey, mine);
+        }
+    }
+
+    // XFetch: refresh with a probability that rises as expiry nears, scaled by how
+    // expensive the last load was
+    private boolean shouldRefreshEarly(String localKey) {
+        LoadStamp stamp = loadStamps.getIfPresent(localKey);
+        if (stamp == null || inFlight.containsKey(localKey)) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble(); // (0, 1]
+        double gap = -stamp.computeNanos() * refreshBeta * Math.log(random);
+        return gap >= stamp.expiresAtNanos() - System.nanoTime();
+    }
+
+    private void refreshAsync(Object key, String localKey, Callable<?> valueLoader) {
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, localKey, valueLoader);
+                } catch (RuntimeException e) {
+                    log.warn("Early refresh of {}::{} failed: {}", name, localKey, e.getMessage());
+                }
+            });
+        } catch (RuntimeException e) {
+            // Refresh pool saturated; the entry will be reloaded on expiry instead
+            log.debug("Skipping early refresh of {}::{}: {}", name, localKey, e.getMessage());
+        }
+    }
+
+    // Writers bump the stamp before touching Redis, so either the second check sees the
+    // bump and the value is taken back out, or the writer's Redis call lands after ours.
+    // Nothing is published: a load only fills the tiers from the database, and the writer
+    // that changed the row already told the other nodes to drop their copies
+    private void putLoaded(Object key, String localKey, Object value, long writeStamp, LoadStamp loadStamp) {
+        if (writeStamp(localKey) != writeStamp) {
+            metrics.staleLoads.increment();
+            return;
+        }
+        metrics.puts.increment();
+        remote.put(key, value);
+        local.put(localKey, value);
+        if (writeStamp(localKey) != writeStamp) {
+            metrics.staleLoads.increment();
+            remote.evict(key);
+            local.invalidate(localKey);
+        } else {
+            loadStamps.put(localKey, loadStamp);
+        }
+    }
+
+    private int stripe(String localKey) {
+        int hash = localKey.hashCode();
+        return (hash ^ (hash >>> 16)) & (WRITE_STAMP_STRIPES - 1);
+    }
+
+    private long writeStamp(String localKey) {
+        return writeStamps.get(stripe(localKey));
+    }
+
+    private void bumpWriteStamp(String localKey) {
+        writeStamps.incrementAndGet(stripe(localKey));
+    }
+
+    private void bumpAllWriteStamps() {
+        for (int i = 0; i < WRITE_STAMP_STRIPES; i++) {
+            writeStamps.incrementAndGet(i);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        bumpWriteStamp(localKey(key));
+        metrics.puts.increment();
+        remote.put(key, value);
+        if (value != null) {
+            local.put(localKey(key), value);
+        }
+        loadStamps.invalidate(localKey(key));
+        publisher.publishEvict(name, localKey(key));
+    }
+
+    // Multi-get: L1 first, then every L1 miss from L2 in one round trip. The result is
+    // aligned with keys, null for a miss in both tiers
+    public List<Object> getAll(List<?> keys) {
+        List<Object> values = new ArrayList<>(keys.size());
+        List<String> remoteKeys = new ArrayList<>();
+        List<Integer> remotePositions = new ArrayList<>();
+        for (Object key : keys) {
+            String localKey = localKey(key);
+            Object value = local.getIfPresent(localKey);
+            if (value != null) {
+                metrics.localHits.increment();
+            } else {
+                remoteKeys.add(localKey);
+                remotePositions.add(values.size());
+            }
+            values.add(value);
+        }
+        if (remoteKeys.isEmpty()) {
+            return values;
+        }
+
+        long start = System.nanoTime();
+        List<Object> remoteValues = batchOperations.getAll(remote, remoteKeys);
+        metrics.remoteGet.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        for (int i = 0; i < remoteKeys.size(); i++) {
+            Object value = remoteValues.get(i);
+            if (value == null) {
+                metrics.misses.increment();
+                continue;
+            }
+            metrics.remoteHits.increment();
+            local.put(remoteKeys.get(i), value);
+            values.set(remotePositions.get(i), value);
+        }
+        return values;
+    }
+
+    // Backfill after a multi-get miss, L2 in one round trip. Existing entries win, so a
+    // concurrent write-through is never overwritten with what was read before it
+    public void putAllIfAbsent(Map<?, ?> entries) {
+        Map<String, Object> byLocalKey = new LinkedHashMap<>();
+        entries.forEach((key, value) -> {
+            if (value != null) {
+                byLocalKey.put(localKey(key), value);
+            }
+        });
+        if (byLocalKey.isEmpty()) {
+            return;
+        }
+        metrics.puts.add(byLocalKey.size());
+        batchOperations.putAllIfAbsent(remote, byLocalKey, remoteTtl);
+        byLocalKey.forEach(local.asMap()::putIfAbsent);
+    }
+
+    @Override
+    public void evict(Object key) {
+        bumpWriteStamp(localKey(key));
+        metrics.evictions.increment();
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        loadStamps.invalidate(localKey(key));
+        publisher.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        bumpAllWriteStamps();
+        metrics.evictions.increment();
+        remote.clear();
+        local.invalidateAll();
+        loadStamps.invalidateAll();
+        publisher.publishClear(name);
+    }
+
+    // Called for invalidations received from other nodes
+    void evictLocal(String localKey) {
+        bumpWriteStamp(localKey);
+        local.invalidate(localKey);
+        loadStamps.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        bumpAllWriteStamps();
+        local.invalidateAll();
+        loadStamps.invalidateAll();
+    }
+}
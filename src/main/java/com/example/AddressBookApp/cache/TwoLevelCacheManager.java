@@ -0,0 +1,69 @@
+package com.example.AddressBookApp.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final CacheInvalidationPublisher publisher;
+    private final TwoLevelCacheSettings settings;
+    private final Executor refreshExecutor;
+    private final MeterRegistry meterRegistry;
+    private final RemoteCacheBatchOperations batchOperations;
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager, CacheInvalidationPublisher publisher,
+                                TwoLevelCacheSettings settings, Executor refreshExecutor, MeterRegistry meterRegistry) {
+        this(remoteCacheManager, publisher, settings, refreshExecutor, meterRegistry, RemoteCacheBatchOperations.ONE_BY_ONE);
+    }
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager, CacheInvalidationPublisher publisher,
+                                TwoLevelCacheSettings settings, Executor refreshExecutor, MeterRegistry meterRegistry,
+                                RemoteCacheBatchOperations batchOperations) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.publisher = publisher;
+        this.settings = settings;
+        this.refreshExecutor = refreshExecutor;
+        this.meterRegistry = meterRegistry;
+        this.batchOperations = batchOperations;
+        publisher.setCacheManager(this);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private TwoLevelCache createCache(String name) {
+        return new TwoLevelCache(name, remoteCacheManager.getCache(name), publisher, settings, refreshExecutor,
+                meterRegistry, batchOperations);
+    }
+
+    // Applies an invalidation published by another node to this node's L1 only
+    void onRemoteEvict(String cacheName, String localKey) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(localKey);
+        }
+    }
+
+    void onRemoteClear(String cacheName) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.clearLocal();
+        }
+    }
+}
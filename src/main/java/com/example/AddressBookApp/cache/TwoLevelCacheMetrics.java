@@ -0,0 +1,65 @@
+package com.example.AddressBookApp.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-cache meters. Uses Micrometer's standard cache.* names so dashboards that chart
+// hit ratio as cache.gets{result=hit} / cache.gets work unchanged; the extra tier tag
+// says which level answered (L1 Caffeine or L2 Redis).
+final class TwoLevelCacheMetrics {
+
+    final LongAdder localHits = new LongAdder();
+    final LongAdder remoteHits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder puts = new LongAdder();
+    final LongAdder evictions = new LongAdder();
+    final LongAdder staleLoads = new LongAdder();
+
+    // Redis round trip on an L1 miss
+    final Timer remoteGet;
+    // The value loader on a full miss, i.e. the database query behind the cache
+    final Timer load;
+
+    TwoLevelCacheMetrics(String cacheName, MeterRegistry registry, com.github.benmanes.caffeine.cache.Cache<?, ?> local) {
+        Tags tags = Tags.of("cache", cacheName);
+        gets(registry, tags, "hit", "local", localHits);
+        gets(registry, tags, "hit", "remote", remoteHits);
+        gets(registry, tags, "miss", "remote", misses);
+        FunctionCounter.builder("cache.puts", puts, LongAdder::sum)
+                .tags(tags)
+                .description("Entries added to the cache")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tags(tags)
+                .description("Explicit evictions and clears")
+                .register(registry);
+        FunctionCounter.builder("cache.loads.stale", staleLoads, LongAdder::sum)
+                .tags(tags)
+                .description("Loaded values not cached because the key was written or evicted during the load")
+                .register(registry);
+        registry.gauge("cache.size", tags.and("tier", "local"), local, c -> c.estimatedSize());
+
+        this.remoteGet = Timer.builder("cache.remote.get")
+                .tags(tags)
+                .tag("dependency", "redis")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.load = Timer.builder("cache.load")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static void gets(MeterRegistry registry, Tags tags, String result, String tier, LongAdder count) {
+        FunctionCounter.builder("cache.gets", count, LongAdder::sum)
+                .tags(tags)
+                .tag("result", result)
+                .tag("tier", tier)
+                .description("Cache lookups by result and the tier that answered")
+                .register(registry);
+    }
+}
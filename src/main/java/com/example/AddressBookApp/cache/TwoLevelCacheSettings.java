@@ -0,0 +1,8 @@
+package com.example.AddressBookApp.cache;
+
+import java.time.Duration;
+
+// localTtl bounds L1 staleness if a pub/sub invalidation is lost; remoteTtl must match
+// the Redis entry TTL so early refresh can aim just before it
+public record TwoLevelCacheSettings(long localMaximumSize, Duration localTtl, Duration remoteTtl, double refreshBeta) {
+}
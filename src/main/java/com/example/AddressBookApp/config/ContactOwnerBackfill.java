@@ -0,0 +1,90 @@
+package com.example.AddressBookApp.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Contacts created before owner scoping have no owner_id and no API query can reach
+// them. Assign them to contacts.legacy-owner-id, then make the column NOT NULL
+// (ddl-auto=update never tightens an existing column). Without a configured owner the
+// rows are left alone and counted in a warning, and the column stays nullable.
+// Runs during context refresh, after the schema update and before the web server
+// starts taking requests, so the cache warm-up and the search index only ever see owned rows.
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class ContactOwnerBackfill implements InitializingBean {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Long legacyOwnerId;
+
+    public ContactOwnerBackfill(JdbcTemplate jdbcTemplate,
+                                @Value("${contacts.legacy-owner-id:}") Long legacyOwnerId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.legacyOwnerId = legacyOwnerId;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            int assigned = backfill();
+            if (assigned > 0) {
+                log.info("Assigned {} contacts without an owner to user {}.", assigned, legacyOwnerId);
+            }
+            if (requireOwner()) {
+                log.info("contacts.owner_id is now NOT NULL.");
+            }
+        } catch (Exception e) {
+            log.warn("Contacts without an owner left in place: {}", e.getMessage());
+        }
+    }
+
+    // Rows updated; fails when unowned rows exist and there is no valid owner to give them
+    int backfill() {
+        int unowned = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM contacts WHERE owner_id IS NULL", Integer.class);
+        if (unowned == 0) {
+            return 0;
+        }
+        if (legacyOwnerId == null) {
+            throw new IllegalStateException(unowned + " rows have no owner_id; set contacts.legacy-owner-id");
+        }
+        Integer owners = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user WHERE id = ?", Integer.class, legacyOwnerId);
+        if (owners == null || owners == 0) {
+            throw new IllegalStateException("contacts.legacy-owner-id " + legacyOwnerId + " is not an existing user");
+        }
+        return jdbcTemplate.update("UPDATE contacts SET owner_id = ? WHERE owner_id IS NULL", legacyOwnerId);
+    }
+
+    // True when the column was changed; a no-op once it is NOT NULL
+    boolean requireOwner() {
+        String alter = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            if (!isNullable(connection, "contacts", "owner_id") && !isNullable(connection, "CONTACTS", "OWNER_ID")) {
+                return null;
+            }
+            return "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())
+                    ? "ALTER TABLE contacts MODIFY owner_id BIGINT NOT NULL"
+                    : "ALTER TABLE contacts ALTER COLUMN owner_id SET NOT NULL";
+        });
+        if (alter == null) {
+            return false;
+        }
+        jdbcTemplate.execute(alter);
+        return true;
+    }
+
+    // Table and column names are matched as stored, which is case-sensitive on some databases
+    private static boolean isNullable(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet columns = connection.getMetaData().getColumns(connection.getCatalog(), connection.getSchema(), table, column)) {
+            return columns.next() && columns.getInt("NULLABLE") == DatabaseMetaData.columnNullable;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.AddressBookApp.config;
+
+import com.example.AddressBookApp.model.Contact;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Contacts used to be IDENTITY-keyed. Make sure the emulated contacts_seq table
+// never hands out an id that an existing row already owns. Hibernate's pooled
+// optimizer treats the value it reads as the top of a block and hands out
+// value - allocationSize + 1 .. value, so next_val must be at least MAX(id) + allocationSize.
+// Runs during context refresh, after the schema update (entityManagerFactory) and
+// before the web server starts taking requests.
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class ContactSequenceInitializer implements InitializingBean {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ContactSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            int updated = align();
+            log.info("Aligned contacts_seq with existing contact ids ({} row updated).", updated);
+        } catch (Exception e) {
+            // Native sequences (or a fresh schema) need no alignment
+            log.warn("Skipping contacts_seq alignment: {}", e.getMessage());
+        }
+    }
+
+    int align() {
+        return jdbcTemplate.update("UPDATE contacts_seq SET next_val = GREATEST(next_val, "
+                + "(SELECT COALESCE(MAX(id), 0) + ? FROM contacts))", Contact.ID_ALLOCATION_SIZE);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.AddressBookApp.config;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+// Thin JDK-proxy layer over the pool: connections hand out statements whose execute*
+// calls are timed and reported to SqlInstrumentation. Everything else, including
+// unwrap() for Hikari's own metrics, goes straight to the real object. A closeable pool
+// stays AutoCloseable through the proxy, so Spring's inferred destroy method still
+// shuts it down with the context.
+final class InstrumentedDataSource {
+
+    private InstrumentedDataSource() {
+    }
+
+    static DataSource wrap(DataSource target, SqlInstrumentation instrumentation) {
+        Class<?>[] types = target instanceof AutoCloseable
+                ? new Class<?>[]{DataSource.class, AutoCloseable.class}
+                : new Class<?>[]{DataSource.class};
+        return proxy(DataSource.class, types, target, (method, args) -> {
+            Object result = method.invoke(target, args);
+            if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                return connection(connection, instrumentation);
+            }
+            return result;
+        });
+    }
+
+    private static Connection connection(Connection target, SqlInstrumentation instrumentation) {
+        return proxy(Connection.class, target, (method, args) -> {
+            Object result = method.invoke(target, args);
+            return switch (method.getName()) {
+                case "prepareStatement" ->
+                        statement(PreparedStatement.class, (Statement) result, (String) args[0], instrumentation);
+                case "prepareCall" ->
+                        statement(CallableStatement.class, (Statement) result, (String) args[0], instrumentation);
+                case "createStatement" -> statement(Statement.class, (Statement) result, null, instrumentation);
+                default -> result;
+            };
+        });
+    }
+
+    private static <T extends Statement> T statement(Class<T> type, Statement target, String preparedSql,
+                                                     SqlInstrumentation instrumentation) {
+        return proxy(type, target, (method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return method.invoke(target, args);
+            }
+            // Plain statements carry their SQL in the execute call itself
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            long start = System.nanoTime();
+            try {
+                return method.invoke(target, args);
+            } finally {
+                instrumentation.onStatement(sql, System.nanoTime() - start);
+            }
+        });
+    }
+
+    private interface Invoker {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, Invoker invoker) {
+        return proxy(type, new Class<?>[]{type}, target, invoker);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Class<?>[] types, Object target, Invoker invoker) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return invoker.invoke(method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), types, handler);
+    }
+}
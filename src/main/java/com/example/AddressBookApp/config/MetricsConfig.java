@@ -0,0 +1,30 @@
+package com.example.AddressBookApp.config;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+
+// Every timer that measures a downstream call carries a dependency tag
+// (mysql, redis, bcrypt, smtp), so a slow endpoint in http.server.requests can be
+// matched against the dependency whose latency moved at the same time.
+@Configuration
+public class MetricsConfig {
+
+    private static final Tag MYSQL = Tag.of("dependency", "mysql");
+
+    // spring.data.repository.invocations: per repository method query latency
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        DefaultRepositoryTagsProvider defaults = new DefaultRepositoryTagsProvider();
+        return new RepositoryTagsProvider() {
+            @Override
+            public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+                return Tags.of(defaults.repositoryTags(invocation)).and(MYSQL);
+            }
+        };
+    }
+}
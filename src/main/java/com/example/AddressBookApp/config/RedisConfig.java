@@ -1,4 +1,13 @@
 package com.example.AddressBookApp.config;
+import com.example.AddressBookApp.cache.CacheInvalidationPublisher;
+import com.example.AddressBookApp.cache.CacheValueCodec;
+import com.example.AddressBookApp.cache.ContactCacheSchemas;
+import com.example.AddressBookApp.cache.RedisCacheBatchOperations;
+import com.example.AddressBookApp.cache.TwoLevelCacheManager;
+import com.example.AddressBookApp.cache.TwoLevelCacheSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -6,32 +15,108 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableCaching
 public class RedisConfig {
 
+    // In-process L1 sizing; kept well below the Redis TTL
+    @Value("${cache.l1.maximum-size:10000}")
+    private long l1MaximumSize;
+
+    @Value("${cache.l1.ttl:60s}")
+    private Duration l1Ttl;
+
+    // XFetch beta: >1 refreshes earlier, <1 later
+    @Value("${cache.refresh.beta:1.0}")
+    private double refreshBeta;
+
+    @Value("${cache.refresh.threads:2}")
+    private int refreshThreads;
+
+    // Redis value encoding: compact (schema-aware binary, LZ4 above the threshold), json or jdk
+    @Value("${cache.codec.type:compact}")
+    private String codecType;
+
+    @Value("${cache.codec.compression-threshold:1024}")
+    private int compressionThreshold;
+
+    private static final Duration CACHE_TTL = Duration.ofMinutes(10);
+
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, CacheInvalidationPublisher cacheInvalidationPublisher,
+                                     ThreadingMode threadingMode, MeterRegistry meterRegistry,
+                                     RedisSerializer<Object> cacheValueSerializer) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))  // Cache expiry time
+                .entryTtl(CACHE_TTL)  // Cache expiry time
+                .serializeValuesWith(SerializationPair.fromSerializer(cacheValueSerializer))
                 .disableCachingNullValues();
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        TwoLevelCacheSettings settings = new TwoLevelCacheSettings(l1MaximumSize, l1Ttl, CACHE_TTL, refreshBeta);
+        return new TwoLevelCacheManager(redisCacheManager, cacheInvalidationPublisher, settings, cacheRefreshExecutor(threadingMode),
+                meterRegistry, new RedisCacheBatchOperations(connectionFactory));
+    }
+
+    // Types without a compact schema fall back to JDK serialization inside the codec's header
+    @Bean
+    public RedisSerializer<Object> cacheValueSerializer() {
+        return switch (codecType) {
+            case "compact" -> new CacheValueCodec(ContactCacheSchemas.all(), RedisSerializer.java(), compressionThreshold);
+            case "json" -> new GenericJackson2JsonRedisSerializer();
+            case "jdk" -> RedisSerializer.java();
+            default -> throw new IllegalStateException("Unknown cache.codec.type: " + codecType);
+        };
+    }
+
+    // Early refreshes are best-effort: a full queue just drops the refresh
+    private Executor cacheRefreshExecutor(ThreadingMode threadingMode) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1000), threadingMode.ioThreadFactory("cache-refresh-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate stringRedisTemplate) {
+        return new CacheInvalidationPublisher(stringRedisTemplate);
+    }
+
+    // Drops L1 entries when another node writes or evicts them
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           CacheInvalidationPublisher cacheInvalidationPublisher) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheInvalidationPublisher, new ChannelTopic(CacheInvalidationPublisher.CHANNEL));
+        return container;
     }
 
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       RedisSerializer<Object> cacheValueSerializer) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         template.setKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.setValueSerializer(cacheValueSerializer);
         return template;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package com.example.AddressBookApp.config;
+
+import com.example.AddressBookApp.security.JwtAuthenticationFilter;
+import com.example.AddressBookApp.security.JwtUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class SecurityConfig {
+
+    @Value("${jwt.verified-cache.size:10000}")
+    private long verifiedCacheSize;
+
+    @Value("${jwt.verified-cache.ttl:5m}")
+    private Duration verifiedCacheTtl;
+
+    // Contact APIs require a bearer token issued by /api/auth/login
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilter(JwtUtil jwtUtil) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration =
+                new FilterRegistrationBean<>(new JwtAuthenticationFilter(jwtUtil, verifiedCacheSize, verifiedCacheTtl));
+        registration.addUrlPatterns("/api/contacts", "/api/contacts/*");
+        registration.setOrder(10);
+        return registration;
+    }
+}
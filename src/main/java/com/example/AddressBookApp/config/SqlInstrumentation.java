@@ -0,0 +1,144 @@
+package com.example.AddressBookApp.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Replaces spring.jpa.show-sql. Every JDBC statement is timed (two nanoTime calls) and
+// logged only when it crosses the slow threshold. A sampled fraction of requests also
+// keeps a per-statement tally, logs a one-line summary and flags statements repeated
+// within the request (the N+1 signature), so the cost stays flat as traffic grows.
+@Slf4j
+@Component
+public class SqlInstrumentation {
+
+    private static final String[] STATEMENT_TYPES = {"select", "insert", "update", "delete"};
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final int repeatThreshold;
+    private final ThreadLocal<RequestStats> current = new ThreadLocal<>();
+
+    private final Timer[] statementTimers = new Timer[STATEMENT_TYPES.length + 1];
+    private final DistributionSummary statementsPerRequest;
+    private final Counter slowStatements;
+    private final Counter repeatedStatements;
+
+    public SqlInstrumentation(MeterRegistry meterRegistry,
+                              @Value("${sql.instrumentation.enabled:true}") boolean enabled,
+                              @Value("${sql.instrumentation.sample-rate:0.01}") double sampleRate,
+                              @Value("${sql.instrumentation.slow-query-threshold:200ms}") Duration slowThreshold,
+                              @Value("${sql.instrumentation.repeat-threshold:5}") int repeatThreshold) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.repeatThreshold = repeatThreshold;
+        for (int i = 0; i < statementTimers.length; i++) {
+            statementTimers[i] = Timer.builder("sql.statement")
+                    .tag("type", i < STATEMENT_TYPES.length ? STATEMENT_TYPES[i] : "other")
+                    .tag("dependency", "mysql")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+        this.statementsPerRequest = DistributionSummary.builder("sql.request.statements")
+                .description("JDBC statements executed per HTTP request")
+                .register(meterRegistry);
+        this.slowStatements = meterRegistry.counter("sql.slow");
+        this.repeatedStatements = meterRegistry.counter("sql.repeated");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Per-request bookkeeping; the statement tally only exists for sampled requests
+    static final class RequestStats {
+        final String method;
+        final String uri;
+        final Map<String, int[]> repeats;
+        int statements;
+        long totalNanos;
+
+        RequestStats(String method, String uri, boolean sampled) {
+            this.method = method;
+            this.uri = uri;
+            this.repeats = sampled ? new HashMap<>() : null;
+        }
+    }
+
+    RequestStats beginRequest(String method, String uri) {
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        RequestStats stats = new RequestStats(method, uri, sampled);
+        current.set(stats);
+        return stats;
+    }
+
+    void endRequest(RequestStats stats) {
+        current.remove();
+        if (stats.statements == 0) {
+            return;
+        }
+        statementsPerRequest.record(stats.statements);
+        if (stats.repeats == null) {
+            return;
+        }
+        log.info("sql_request method={} uri={} statements={} distinct={} time_ms={}",
+                stats.method, stats.uri, stats.statements, stats.repeats.size(), millis(stats.totalNanos));
+        for (Map.Entry<String, int[]> entry : stats.repeats.entrySet()) {
+            int count = entry.getValue()[0];
+            if (count >= repeatThreshold) {
+                repeatedStatements.increment();
+                log.warn("sql_repeated method={} uri={} count={} sql=\"{}\"", stats.method, stats.uri, count, entry.getKey());
+            }
+        }
+    }
+
+    // Called by InstrumentedDataSource after every execute*; statements from Hibernate
+    // are already parameterised, so the SQL text itself is the repeat key
+    void onStatement(String sql, long elapsedNanos) {
+        statementTimers[typeIndex(sql)].record(elapsedNanos, TimeUnit.NANOSECONDS);
+        RequestStats stats = current.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.totalNanos += elapsedNanos;
+            if (stats.repeats != null && sql != null) {
+                stats.repeats.computeIfAbsent(sql, k -> new int[1])[0]++;
+            }
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            slowStatements.increment();
+            log.warn("sql_slow time_ms={} uri={} sql=\"{}\"", millis(elapsedNanos),
+                    stats != null ? stats.uri : "-", sql);
+        }
+    }
+
+    static int typeIndex(String sql) {
+        if (sql != null) {
+            int start = 0;
+            while (start < sql.length() && Character.isWhitespace(sql.charAt(start))) {
+                start++;
+            }
+            for (int i = 0; i < STATEMENT_TYPES.length; i++) {
+                if (sql.regionMatches(true, start, STATEMENT_TYPES[i], 0, STATEMENT_TYPES[i].length())) {
+                    return i;
+                }
+            }
+        }
+        return STATEMENT_TYPES.length;
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.AddressBookApp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+@Configuration
+public class SqlInstrumentationConfig {
+
+    // Static and lazy so the post-processor does not pull the meter registry in early
+    @Bean
+    public static BeanPostProcessor sqlInstrumentationPostProcessor(ObjectProvider<SqlInstrumentation> instrumentation) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && instrumentation.getObject().isEnabled()) {
+                    return InstrumentedDataSource.wrap(dataSource, instrumentation.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Opens the per-request statement tally around every request
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> sqlRequestStatsFilter(SqlInstrumentation instrumentation) {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                SqlInstrumentation.RequestStats stats =
+                        instrumentation.beginRequest(request.getMethod(), request.getRequestURI());
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    instrumentation.endRequest(stats);
+                }
+            }
+        };
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(instrumentation.isEnabled());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.AddressBookApp.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Selects platform or virtual threads for our own blocking I/O pools. Driven by the same
+// spring.threads.virtual.enabled flag that moves Tomcat and Spring's task executor and
+// scheduler onto virtual threads. The build targets Java 17, so virtual threads are
+// looked up reflectively and the flag is ignored (with a warning) on older runtimes.
+@Slf4j
+@Component
+public class ThreadingMode {
+
+    private static final Method OF_VIRTUAL = lookupOfVirtual();
+
+    private final boolean virtual;
+
+    public ThreadingMode(@Value("${spring.threads.virtual.enabled:false}") boolean virtualRequested) {
+        this.virtual = virtualRequested && OF_VIRTUAL != null;
+        if (virtualRequested && !virtual) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; using platform threads.",
+                    Runtime.version().feature());
+        }
+        log.info("Request and I/O execution mode: {} threads.", virtual ? "virtual" : "platform");
+    }
+
+    public static boolean isVirtualThreadSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    // For pools that block on I/O (SMTP, Redis, JDBC). CPU-bound pools such as
+    // PasswordHasher keep platform threads: a virtual thread buys nothing there.
+    public ThreadFactory ioThreadFactory(String namePrefix) {
+        if (virtual) {
+            return virtualThreadFactory(namePrefix);
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Thread.ofVirtual().name(prefix, 1).factory()
+    static ThreadFactory virtualThreadFactory(String namePrefix) {
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads are not available", e);
+        }
+    }
+
+    private static Method lookupOfVirtual() {
+        try {
+            return Thread.class.getMethod("ofVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.AddressBookApp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Reports virtual threads pinned to their carrier (blocking inside synchronized or a
+// native frame) using the JDK's own jdk.VirtualThreadPinned JFR event. Each event is
+// attributed to the innermost frame in our code, counted in virtual.threads.pinned,
+// and logged with its stack the first time a site is seen. Only runs in virtual mode.
+@Slf4j
+@Component
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String APP_PACKAGE = "com.example.AddressBookApp.";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final ThreadingMode threadingMode;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration threshold;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(ThreadingMode threadingMode, MeterRegistry meterRegistry,
+                                       @Value("${threads.pinning-detector.enabled:true}") boolean enabled,
+                                       @Value("${threads.pinning-detector.threshold:20ms}") Duration threshold) {
+        this.threadingMode = threadingMode;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || !threadingMode.isVirtual() || stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Virtual thread pinning detector started (threshold {} ms).", threshold.toMillis());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String site = pinnedSite(frames);
+        meterRegistry.counter("virtual.threads.pinned", "site", site).increment();
+
+        if (reportedSites.add(site)) {
+            StringBuilder stack = new StringBuilder();
+            for (int i = 0; i < Math.min(LOGGED_FRAMES, frames.size()); i++) {
+                stack.append("\n\tat ").append(describe(frames.get(i)));
+            }
+            log.warn("Virtual thread pinned for {} ms at {}{}", event.getDuration().toMillis(), site, stack);
+        } else {
+            log.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    // Innermost frame in our own code, or "external" when the pin is entirely in a library
+    static String pinnedSite(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod() != null && frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+                return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+            }
+        }
+        return "external";
+    }
+
+    private static String describe(RecordedFrame frame) {
+        if (frame.getMethod() == null) {
+            return "<unknown>";
+        }
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
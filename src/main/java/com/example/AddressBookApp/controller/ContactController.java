@@ -1,42 +1,127 @@
 package com.example.AddressBookApp.controller;
 
+import com.example.AddressBookApp.dto.ContactBatchDTO;
 import com.example.AddressBookApp.dto.ContactDTO;
-import com.example.AddressBookApp.model.Contact;
-import com.example.AddressBookApp.repository.ContactRepository;
+import com.example.AddressBookApp.dto.ContactImportResultDTO;
+import com.example.AddressBookApp.dto.ContactPageDTO;
+import com.example.AddressBookApp.dto.ContactSearchResultDTO;
+import com.example.AddressBookApp.security.JwtPrincipal;
+import com.example.AddressBookApp.service.ContactExportService;
+import com.example.AddressBookApp.service.ContactFileFormat;
+import com.example.AddressBookApp.service.ContactImportService;
+import com.example.AddressBookApp.service.ContactService;
+import com.example.AddressBookApp.validation.ContactValidator;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.*;
 
 @RestController
 @RequestMapping("/api/contacts")
 @Tag(name = "Contact API", description = "Operations related to Contact Management")
+// Every endpoint works on the caller's own contacts; the owner is the JWT subject,
+// resolved by JwtAuthenticationFilter into the request's JwtPrincipal
 public class ContactController {
 
-    private final ContactRepository contactRepository;
+    static final String SEARCH_TRUNCATED_HEADER = "X-Search-Truncated";
+
+    private final ContactService contactService;
+    private final ContactExportService contactExportService;
+    private final ContactImportService contactImportService;
+    private final ContactValidator contactValidator;
 
     @Autowired
-    public ContactController(ContactRepository contactRepository) {
-        this.contactRepository = contactRepository;
+    public ContactController(ContactService contactService,
+                             ContactExportService contactExportService, ContactImportService contactImportService,
+                             ContactValidator contactValidator) {
+        this.contactService = contactService;
+        this.contactExportService = contactExportService;
+        this.contactImportService = contactImportService;
+        this.contactValidator = contactValidator;
     }
 
-    // GET All Contacts
+    // GET Contacts - one keyset page at a time, follow nextCursor for the rest
     @GetMapping
-    public ResponseEntity<List<Contact>> getAllContacts() {
-        List<Contact> contacts = contactRepository.findAll();
-        return ResponseEntity.ok(contacts);
+    public ResponseEntity<Object> getAllContacts(JwtPrincipal principal,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer size) {
+        try {
+            ContactPageDTO page = contactService.getContactsPage(principal.userId(), cursor, size);
+            return ResponseEntity.ok().eTag(ContactETags.of(page)).body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Something went wrong. Please try again."));
+        }
+    }
+
+    // GET Search - prefix/token match on name, email and address. X-Search-Truncated: true
+    // means a query token was too broad to expand fully and matches may be missing
+    @GetMapping("/search")
+    public ResponseEntity<Object> searchContacts(JwtPrincipal principal, @RequestParam("q") String query,
+                                                 @RequestParam(required = false) Integer limit) {
+        try {
+            ContactSearchResultDTO result = contactService.searchContacts(principal.userId(), query, limit);
+            return ResponseEntity.ok()
+                    .header(SEARCH_TRUNCATED_HEADER, String.valueOf(result.isTruncated()))
+                    .body(result.getContacts());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Something went wrong. Please try again."));
+        }
+    }
+
+    // GET Lookup - reverse lookup of the contacts owning a phone number
+    @GetMapping("/lookup")
+    public ResponseEntity<Object> lookupByPhone(JwtPrincipal principal, @RequestParam("phone") String phoneNumber) {
+        try {
+            return ResponseEntity.ok(contactService.findByPhoneNumber(principal.userId(), phoneNumber));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Something went wrong. Please try again."));
+        }
     }
 
-    // GET Contact by ID
+    // GET Export - streams every contact as NDJSON (default) or CSV
+    @GetMapping("/export")
+    public ResponseEntity<?> exportContacts(JwtPrincipal principal, @RequestParam(defaultValue = "ndjson") String format) {
+        ContactFileFormat exportFormat;
+        try {
+            exportFormat = ContactFileFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        Long ownerId = principal.userId();
+        StreamingResponseBody body = out -> contactExportService.exportContacts(ownerId, exportFormat, out);
+        String fileName = "contacts." + exportFormat.name().toLowerCase();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    // GET Contact by ID - served from the contacts cache; If-None-Match on the
+    // version ETag gets 304 without a database hit
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getContactById(@PathVariable Long id) {
+    public ResponseEntity<Object> getContactById(JwtPrincipal principal, @PathVariable Long id) {
         try {
-            Optional<Contact> contact = contactRepository.findById(id);
-            if (contact.isPresent()) {
-                return ResponseEntity.ok(contact.get());
+            ContactDTO contact = contactService.getContactById(principal.userId(), id);
+            if (contact != null) {
+                return ResponseEntity.ok().eTag(ContactETags.of(contact)).body(contact);
             } else {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(Map.of("error", "Contact with ID " + id + " not found"));
@@ -47,9 +132,31 @@ public class ContactController {
         }
     }
 
+    // POST Batch - fetch up to 500 contacts by id in one call; results keep the request
+    // order and mark ids the caller has no contact for as not found
+    @PostMapping("/batch")
+    public ResponseEntity<Object> getContactsByIds(JwtPrincipal principal, @RequestBody List<Long> ids) {
+        try {
+            List<ContactDTO> contacts = contactService.getContactsByIds(principal.userId(), ids);
+            ContactBatchDTO batch = new ContactBatchDTO();
+            for (int i = 0; i < ids.size(); i++) {
+                ContactDTO contact = contacts.get(i);
+                batch.getResults().add(new ContactBatchDTO.Entry(ids.get(i), contact != null, contact));
+            }
+            batch.setFound((int) contacts.stream().filter(Objects::nonNull).count());
+            batch.setNotFound(ids.size() - batch.getFound());
+            return ResponseEntity.ok(batch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Something went wrong. Please try again."));
+        }
+    }
+
     // POST - Create Contact
     @PostMapping("/add")
-    public ResponseEntity<Object> createContact(@RequestBody ContactDTO contactDTO) {
+    public ResponseEntity<Object> createContact(JwtPrincipal principal, @RequestBody ContactDTO contactDTO) {
         try {
             // Manual validation
             List<String> errors = validateContact(contactDTO);
@@ -60,48 +167,132 @@ public class ContactController {
             }
 
             // Save the contact
-            Contact contact = new Contact();
-            contact.setName(contactDTO.getName());
-            contact.setPhoneNumber(contactDTO.getPhoneNumber());
-            contact.setEmail(contactDTO.getEmail());
-            contact.setAddress(contactDTO.getAddress());
+            ContactDTO savedContact = contactService.createContact(principal.userId(), contactDTO);
+            return ResponseEntity.ok().eTag(ContactETags.of(savedContact)).body(savedContact);
 
-            Contact savedContact = contactRepository.save(contact);
-            return ResponseEntity.ok(savedContact);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Something went wrong. Please try again."));
+        }
+    }
 
+    // POST - Bulk import from a CSV or NDJSON request body
+    @PostMapping("/import")
+    public ResponseEntity<Object> importContacts(JwtPrincipal principal, @RequestParam(defaultValue = "ndjson") String format,
+                                                 InputStream body) {
+        try {
+            ContactFileFormat importFormat = ContactFileFormat.from(format);
+            ContactImportResultDTO result = contactImportService.importContacts(principal.userId(), importFormat, body);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Something went wrong. Please try again."));
         }
     }
 
-    // PUT - Update Contact by ID
+    // PUT - Update Contact by ID. With If-Match the update only applies to that version
+    // (412 otherwise); without it, a write that raced another one gets 409.
     @PutMapping("/update/{id}")
-    public ResponseEntity<Object> updateContact(@PathVariable Long id, @RequestBody ContactDTO contactDTO) {
+    public ResponseEntity<Object> updateContact(JwtPrincipal principal, @PathVariable Long id, @RequestBody ContactDTO contactDTO,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            // Check if contact exists
-            Optional<Contact> contactOptional = contactRepository.findById(id);
-            if (contactOptional.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(Map.of("error", "Contact with ID " + id + " not found"));
-            }
-
             // Manual validation
             List<String> errors = validateContact(contactDTO);
             if (!errors.isEmpty()) {
                 return ResponseEntity.badRequest().body(Map.of("errors", errors));
             }
 
+            Long expectedVersion = null;
+            if (ifMatch != null) {
+                ContactDTO current = contactService.getContactById(principal.userId(), id);
+                if (current == null) {
+                    return contactNotFound(id);
+                }
+                if (!ContactETags.matches(ifMatch, current)) {
+                    return preconditionFailed(id);
+                }
+                expectedVersion = current.getVersion();
+            }
+
             // Update contact
-            Contact contact = contactOptional.get();
-            contact.setName(contactDTO.getName());
-            contact.setPhoneNumber(contactDTO.getPhoneNumber());
-            contact.setEmail(contactDTO.getEmail());
-            contact.setAddress(contactDTO.getAddress());
+            ContactDTO updatedContact = contactService.updateContact(principal.userId(), id, contactDTO, expectedVersion);
+            if (updatedContact == null) {
+                return contactNotFound(id);
+            }
+            return ResponseEntity.ok().eTag(ContactETags.of(updatedContact)).body(updatedContact);
+
+        } catch (OptimisticLockingFailureException e) {
+            if (ifMatch != null) {
+                return preconditionFailed(id);
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Contact with ID " + id + " was modified concurrently. Please retry."));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Something went wrong. Please try again."));
+        }
+    }
+
+    // PATCH - Update only the fields present in the body. With If-Match naming one
+    // version (or "*") this is a single conditional UPDATE with no read: 204 plus the new
+    // ETag. Otherwise the contact is loaded and only the changed columns are written.
+    @PatchMapping("/{id}")
+    public ResponseEntity<Object> patchContact(JwtPrincipal principal, @PathVariable Long id, @RequestBody ContactDTO patch,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            if (patch.getName() == null && patch.getPhoneNumber() == null && patch.getEmail() == null
+                    && patch.getAddress() == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "No fields to update"));
+            }
+            List<String> errors = ContactValidator.messages(contactValidator.checkPresent(patch));
+            if (!errors.isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of("errors", errors));
+            }
 
-            Contact updatedContact = contactRepository.save(contact);
-            return ResponseEntity.ok(updatedContact);
+            Long ownerId = principal.userId();
+            Long expectedVersion = ifMatch == null ? null : ContactETags.version(ifMatch);
+            if (ifMatch != null && (expectedVersion != null || ifMatch.trim().equals("*"))) {
+                if (!contactService.patchContactInPlace(ownerId, id, patch, expectedVersion)) {
+                    // Nothing matched: tell a missing contact apart from a stale version
+                    return contactService.getContactById(ownerId, id) == null ? contactNotFound(id) : preconditionFailed(id);
+                }
+                ResponseEntity.BodyBuilder noContent = ResponseEntity.status(HttpStatus.NO_CONTENT);
+                if (expectedVersion != null) {
+                    noContent.eTag(ContactETags.of(expectedVersion + 1));
+                }
+                return noContent.build();
+            }
 
+            if (ifMatch != null) {
+                ContactDTO current = contactService.getContactById(ownerId, id);
+                if (current == null) {
+                    return contactNotFound(id);
+                }
+                if (!ContactETags.matches(ifMatch, current)) {
+                    return preconditionFailed(id);
+                }
+                expectedVersion = current.getVersion();
+            }
+            ContactDTO patchedContact = contactService.patchContact(ownerId, id, patch, expectedVersion);
+            if (patchedContact == null) {
+                return contactNotFound(id);
+            }
+            return ResponseEntity.ok().eTag(ContactETags.of(patchedContact)).body(patchedContact);
+
+        } catch (OptimisticLockingFailureException e) {
+            if (ifMatch != null) {
+                return preconditionFailed(id);
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Contact with ID " + id + " was modified concurrently. Please retry."));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Something went wrong. Please try again."));
@@ -110,13 +301,11 @@ public class ContactController {
 
     // DELETE - Remove Contact by ID
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> deleteContact(@PathVariable Long id) {
+    public ResponseEntity<Object> deleteContact(JwtPrincipal principal, @PathVariable Long id) {
         try {
-            if (!contactRepository.existsById(id)) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(Map.of("error", "Contact with ID " + id + " not found"));
+            if (!contactService.deleteContact(principal.userId(), id)) {
+                return contactNotFound(id);
             }
-            contactRepository.deleteById(id);
             return ResponseEntity.ok(Map.of("message", "Contact deleted successfully"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -124,30 +313,19 @@ public class ContactController {
         }
     }
 
-    // Validation Method
-    private List<String> validateContact(ContactDTO contactDTO) {
-        List<String> errors = new ArrayList<>();
-
-        if (contactDTO.getName() == null || contactDTO.getName().trim().isEmpty()) {
-            errors.add("Name is required");
-        } else if (!contactDTO.getName().matches("^[A-Z][a-zA-Z\\s]*$")) {
-            errors.add("Name must start with a capital letter and contain only letters and spaces");
-        }
-
-        if (contactDTO.getPhoneNumber() == null || !contactDTO.getPhoneNumber().matches("^[6-9]\\d{9}$")) {
-            errors.add("Phone number must be a valid 10-digit number starting with 6-9");
-        }
-
-        if (contactDTO.getEmail() == null || !contactDTO.getEmail().matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$")) {
-            errors.add("Invalid email format");
-        }
+    private static ResponseEntity<Object> contactNotFound(Long id) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", "Contact with ID " + id + " not found"));
+    }
 
-        // ✅ Add validation for address
-        if (contactDTO.getAddress() == null || contactDTO.getAddress().trim().isEmpty()) {
-            errors.add("Address cannot be null or empty");
-        }
+    private static ResponseEntity<Object> preconditionFailed(Long id) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(Map.of("error", "Contact with ID " + id + " has changed since it was read"));
+    }
 
-        return errors;
+    // Validation Method
+    private List<String> validateContact(ContactDTO contactDTO) {
+        return contactValidator.validate(contactDTO);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.example.AddressBookApp.controller;
+
+import com.example.AddressBookApp.dto.ContactDTO;
+import com.example.AddressBookApp.dto.ContactPageDTO;
+
+// Strong entity tags built from Contact's @Version, so they can be computed from a
+// cached DTO without touching the database. Spring answers a matching If-None-Match
+// with 304 (and no body) for any GET whose ResponseEntity carries one of these.
+final class ContactETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ContactETags() {
+    }
+
+    static String of(ContactDTO contact) {
+        return of(contact.getVersion());
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    // A page changes when any row on it changes version or rows enter/leave it
+    static String of(ContactPageDTO page) {
+        long hash = FNV_OFFSET;
+        for (ContactDTO contact : page.getContacts()) {
+            hash = mix(hash, contact.getId());
+            hash = mix(hash, contact.getVersion() == null ? 0L : contact.getVersion());
+        }
+        hash = mix(hash, page.getNextCursor() == null ? 0L : page.getNextCursor().hashCode());
+        return "\"p" + Long.toHexString(hash) + "\"";
+    }
+
+    // If-Match uses strong comparison: weak tags never match, "*" matches any version
+    static boolean matches(String ifMatch, ContactDTO current) {
+        String expected = of(current);
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.equals("*") || trimmed.equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The version named by an If-Match holding exactly one strong tag, else null
+    static Long version(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return null;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -2,8 +2,12 @@ package com.example.AddressBookApp.controller;
 
 import com.example.AddressBookApp.dto.LoginDTO;
 import com.example.AddressBookApp.dto.UserDTO;
+import com.example.AddressBookApp.security.LoginThrottle;
+import com.example.AddressBookApp.security.PasswordHashingUnavailableException;
 import com.example.AddressBookApp.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -17,9 +21,11 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
+    private final LoginThrottle loginThrottle;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, LoginThrottle loginThrottle) {
         this.userService = userService;
+        this.loginThrottle = loginThrottle;
     }
 
     // Register User
@@ -45,6 +51,8 @@ public class UserController {
             // Call service method to register user
             String response = userService.registerUser(userDTO);
             return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("message", response));
+        } catch (PasswordHashingUnavailableException e) {
+            return hashingUnavailable(e);
         } catch (Exception e) {
             // Handle exception and return error message
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", "Registration failed: " + e.getMessage()));
@@ -53,7 +61,8 @@ public class UserController {
 
     // Login User and Generate JWT Token
     @PostMapping("/login")
-    public ResponseEntity<?> loginUser(@Valid @RequestBody LoginDTO loginRequest, BindingResult bindingResult) {
+    public ResponseEntity<?> loginUser(@Valid @RequestBody LoginDTO loginRequest, BindingResult bindingResult,
+                                       HttpServletRequest request) {
         // Check for validation errors
         if (bindingResult.hasErrors()) {
             Map<String, String> errors = new HashMap<>();
@@ -65,6 +74,14 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
         }
 
+        // Throttle per client IP and per account before any database or hashing work
+        long retryAfter = loginThrottle.checkLoginAttempt(loginRequest.getEmail(), request.getRemoteAddr());
+        if (retryAfter > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .body(Map.of("error", "Too many login attempts. Please try again later."));
+        }
+
         try {
             // Call service method to authenticate user and generate JWT
             String token = userService.authenticateUser(loginRequest.getEmail(), loginRequest.getPassword());
@@ -72,6 +89,8 @@ public class UserController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", token));
             }
             return ResponseEntity.ok(Map.of("message", "Login successful!", "token", token));
+        } catch (PasswordHashingUnavailableException e) {
+            return hashingUnavailable(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "Login failed: " + e.getMessage()));
         }
@@ -88,6 +107,8 @@ public class UserController {
 
             String response = userService.forgotPassword(email, newPassword);
             return ResponseEntity.ok(Map.of("message", response));
+        } catch (PasswordHashingUnavailableException e) {
+            return hashingUnavailable(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "Failed to reset password: " + e.getMessage()));
         }
@@ -99,8 +120,17 @@ public class UserController {
         try {
             String response = userService.resetPassword(email, currentPassword, newPassword);
             return ResponseEntity.ok(Map.of("message", response));
+        } catch (PasswordHashingUnavailableException e) {
+            return hashingUnavailable(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "Password reset failed: " + e.getMessage()));
         }
     }
+
+    // BCrypt pool saturated: fail fast and let the client back off
+    private ResponseEntity<?> hashingUnavailable(PasswordHashingUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", e.getMessage()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.example.AddressBookApp.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactBatchDTO {
+    // One entry per requested id, in request order
+    private List<Entry> results = new ArrayList<>();
+    private int found;
+    private int notFound;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private Long id;
+        private boolean found;
+        // Null when found is false
+        private ContactDTO contact;
+    }
+}
@@ -55,15 +55,18 @@
 //}
 
 package com.example.AddressBookApp.dto;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.*;
 
+import java.io.Serializable;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class ContactDTO {
+public class ContactDTO implements Serializable {
     private Long id;
     @NotBlank(message = "Name is required")
     @Pattern(
@@ -86,4 +89,12 @@ public class ContactDTO {
     @NotBlank(message = "Address is required")
     private String address;
 
+    // Optimistic-lock version of the stored contact; served as the ETag, ignored on input
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
+
+    public ContactDTO(Long id, String name, String phoneNumber, String email, String address) {
+        this(id, name, phoneNumber, email, address, null);
+    }
+
 }
\ No newline at end of file
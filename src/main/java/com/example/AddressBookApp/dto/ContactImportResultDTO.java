@@ -0,0 +1,26 @@
+package com.example.AddressBookApp.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactImportResultDTO {
+    private long imported;
+    private long failed;
+    // Capped so a badly broken file cannot blow up the response
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        // 1-based record number in the uploaded file, excluding the CSV header
+        private long row;
+        private List<String> errors;
+    }
+}
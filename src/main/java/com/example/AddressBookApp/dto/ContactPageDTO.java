@@ -0,0 +1,15 @@
+package com.example.AddressBookApp.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactPageDTO {
+    private List<ContactDTO> contacts;
+    private int size;
+    // Opaque cursor for the next page, null when this is the last page
+    private String nextCursor;
+}
@@ -0,0 +1,14 @@
+package com.example.AddressBookApp.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactSearchResultDTO {
+    private List<ContactDTO> contacts;
+    // Some query token matched too many terms to expand fully, so matches may be missing
+    private boolean truncated;
+}
@@ -0,0 +1,48 @@
+package com.example.AddressBookApp.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-call-site rate sampler for high-frequency log lines: lets at most `limit` lines
+// through per second and drops the rest. Guard the log call with it so a dropped line
+// never builds its argument array or formats anything:
+//
+//     if (log.isInfoEnabled() && FETCH_LOG.sample()) { log.info(...); }
+//
+// The first line after a dropped stretch can report how many were skipped via takeSkipped().
+public final class LogSampler {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int limit;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger emitted = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    private LogSampler(int limit) {
+        this.limit = limit;
+    }
+
+    public static LogSampler perSecond(int limit) {
+        return new LogSampler(limit);
+    }
+
+    public boolean sample() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            emitted.set(0);
+        }
+        if (emitted.incrementAndGet() <= limit) {
+            return true;
+        }
+        skipped.incrementAndGet();
+        return false;
+    }
+
+    // Lines dropped since the last call
+    public int takeSkipped() {
+        return skipped.getAndSet(0);
+    }
+}
@@ -43,20 +43,58 @@
 //}
 
 package com.example.AddressBookApp.model;
+import com.example.AddressBookApp.search.ContactIndexListener;
+import com.example.AddressBookApp.search.PhoneNumbers;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 @Entity
+@EntityListeners(ContactIndexListener.class)
+// UPDATEs list only the columns that actually changed
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "contacts")
+// Every query is scoped to one owner, so both indexes lead with owner_id
+@Table(name = "contacts", indexes = {
+        @Index(name = "idx_contacts_owner_id", columnList = "owner_id, id"),
+        @Index(name = "idx_contacts_owner_phone_key", columnList = "owner_id, phone_key")
+})
 public class Contact {
+    // Ids handed out per contacts_seq read (see ContactSequenceInitializer)
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence (table-emulated on MySQL) so Hibernate can batch inserts;
+    // IDENTITY forces one INSERT round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contacts_seq")
+    @SequenceGenerator(name = "contacts_seq", sequenceName = "contacts_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
+    // Id of the User this contact belongs to (the JWT subject); legacy rows are assigned
+    // one at startup (see ContactOwnerBackfill)
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
     private String name;
     private String phoneNumber;
     private String email;
     private String address;
+    // Canonical numeric form of phoneNumber (see PhoneNumbers) for reverse lookup;
+    // derived on every write, never set by callers
+    @Column(name = "phone_key")
+    private Long phoneKey;
+    // Optimistic lock: a save based on a stale read fails instead of overwriting.
+    // Primitive so rows that predate the column read as 0 and ids still decide isNew
+    @Version
+    private long version;
+
+    public Contact(Long id, String name, String phoneNumber, String email, String address) {
+        this(id, null, name, phoneNumber, email, address, PhoneNumbers.toKey(phoneNumber), 0L);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void derivePhoneKey() {
+        phoneKey = PhoneNumbers.toKey(phoneNumber);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.example.AddressBookApp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// Durable queue of outgoing mail; rows are claimed and delivered by EmailDispatcher
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "email_outbox", indexes = @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at"))
+public class EmailOutbox {
+
+    public enum Status { PENDING, SENT, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String recipient;
+
+    private String subject;
+
+    @Lob
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 16)
+    private Status status;
+
+    private int attempts;
+
+    // Earliest time the row may be (re)tried; also used as the claim lease
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    private String lastError;
+
+    private Instant createdAt;
+
+    private Instant sentAt;
+}
@@ -0,0 +1,13 @@
+package com.example.AddressBookApp.repository;
+
+import com.example.AddressBookApp.dto.ContactDTO;
+
+// Partial updates as one UPDATE statement, without loading the row first. Must run
+// inside a transaction. Bypasses entity callbacks, so callers refresh the search
+// indexes themselves.
+public interface ContactPatchRepository {
+
+    // Sets only the non-null fields of patch and bumps the version; with expectedVersion
+    // the row must still be at that version. Returns the number of rows updated (0 or 1).
+    int patchInPlace(Long ownerId, Long id, ContactDTO patch, Long expectedVersion);
+}
@@ -0,0 +1,58 @@
+package com.example.AddressBookApp.repository;
+
+import com.example.AddressBookApp.dto.ContactDTO;
+import com.example.AddressBookApp.search.PhoneNumbers;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+public class ContactPatchRepositoryImpl implements ContactPatchRepository {
+
+    private final EntityManager entityManager;
+
+    public ContactPatchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int patchInPlace(Long ownerId, Long id, ContactDTO patch, Long expectedVersion) {
+        // Only the columns being changed appear in the SET list
+        StringBuilder jpql = new StringBuilder("update Contact c set c.version = c.version + 1");
+        if (patch.getName() != null) {
+            jpql.append(", c.name = :name");
+        }
+        if (patch.getPhoneNumber() != null) {
+            jpql.append(", c.phoneNumber = :phoneNumber, c.phoneKey = :phoneKey");
+        }
+        if (patch.getEmail() != null) {
+            jpql.append(", c.email = :email");
+        }
+        if (patch.getAddress() != null) {
+            jpql.append(", c.address = :address");
+        }
+        jpql.append(" where c.id = :id and c.ownerId = :ownerId");
+        if (expectedVersion != null) {
+            jpql.append(" and c.version = :version");
+        }
+
+        Query query = entityManager.createQuery(jpql.toString())
+                .setParameter("id", id)
+                .setParameter("ownerId", ownerId);
+        if (patch.getName() != null) {
+            query.setParameter("name", patch.getName());
+        }
+        if (patch.getPhoneNumber() != null) {
+            query.setParameter("phoneNumber", patch.getPhoneNumber());
+            query.setParameter("phoneKey", PhoneNumbers.toKey(patch.getPhoneNumber()));
+        }
+        if (patch.getEmail() != null) {
+            query.setParameter("email", patch.getEmail());
+        }
+        if (patch.getAddress() != null) {
+            query.setParameter("address", patch.getAddress());
+        }
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+        return query.executeUpdate();
+    }
+}
@@ -1,9 +1,32 @@
 package com.example.AddressBookApp.repository;
 
 import com.example.AddressBookApp.model.Contact;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface ContactRepository extends JpaRepository<Contact, Long> {
-}
\ No newline at end of file
+public interface ContactRepository extends JpaRepository<Contact, Long>, ContactStreamingRepository,
+        ContactPatchRepository {
+
+    // All tenant queries filter on owner_id and are served by the (owner_id, ...) indexes
+    Optional<Contact> findByIdAndOwnerId(Long id, Long ownerId);
+
+    boolean existsByIdAndOwnerId(Long id, Long ownerId);
+
+    List<Contact> findByOwnerIdAndIdIn(Long ownerId, Collection<Long> ids);
+
+    // Keyset pagination: range scan on (owner_id, id) instead of OFFSET
+    List<Contact> findByOwnerIdOrderByIdAsc(Long ownerId, Limit limit);
+
+    List<Contact> findByOwnerIdAndIdGreaterThanOrderByIdAsc(Long ownerId, Long id, Limit limit);
+
+    // Reverse phone lookup on the indexed canonical key (see PhoneNumbers)
+    List<Contact> findByOwnerIdAndPhoneKey(Long ownerId, Long phoneKey);
+
+    List<Contact> findByIdGreaterThanAndPhoneKeyIsNullAndPhoneNumberIsNotNullOrderByIdAsc(Long id, Limit limit);
+}
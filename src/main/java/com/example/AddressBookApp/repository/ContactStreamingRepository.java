@@ -0,0 +1,17 @@
+package com.example.AddressBookApp.repository;
+
+import com.example.AddressBookApp.model.Contact;
+
+import java.util.stream.Stream;
+
+// Forward-only reads for bulk export and index loading. Must be consumed inside a
+// read-only transaction and closed by the caller.
+public interface ContactStreamingRepository {
+
+    Stream<Contact> streamByOwnerForExport(Long ownerId);
+
+    Stream<Contact> streamAll();
+
+    // Newest first (ids come from a sequence), for the startup cache warm-up
+    Stream<Contact> streamMostRecent(int limit);
+}
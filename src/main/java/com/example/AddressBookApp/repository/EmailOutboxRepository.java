@@ -0,0 +1,29 @@
+package com.example.AddressBookApp.repository;
+
+import com.example.AddressBookApp.model.EmailOutbox;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    List<EmailOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(EmailOutbox.Status status, Instant now, Limit limit);
+
+    long countByStatus(EmailOutbox.Status status);
+
+    // Claims a due row by pushing its next attempt out to the lease expiry. Only one
+    // node can win, and a crashed node's claim lapses on its own.
+    @Transactional
+    @Modifying
+    @Query("update EmailOutbox e set e.nextAttemptAt = :leaseUntil " +
+            "where e.id = :id and e.status = com.example.AddressBookApp.model.EmailOutbox.Status.PENDING and e.nextAttemptAt = :seen")
+    int claim(@Param("id") Long id, @Param("seen") Instant seen, @Param("leaseUntil") Instant leaseUntil);
+}
@@ -0,0 +1,41 @@
+package com.example.AddressBookApp.search;
+
+import com.example.AddressBookApp.model.Contact;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// JPA entity listener keeping ContactSearchIndex in step with every write path
+// (ContactService, the REST controller and bulk import). Changes are applied only
+// once the surrounding transaction commits, and broadcast to the other nodes through
+// ContactIndexSync.
+public class ContactIndexListener {
+
+    private final ContactSearchIndex searchIndex;
+    private final ContactIndexSync indexSync;
+
+    public ContactIndexListener(ContactSearchIndex searchIndex, ContactIndexSync indexSync) {
+        this.searchIndex = searchIndex;
+        this.indexSync = indexSync;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Contact contact) {
+        Contact snapshot = new Contact();
+        snapshot.setId(contact.getId());
+        snapshot.setOwnerId(contact.getOwnerId());
+        snapshot.setName(contact.getName());
+        snapshot.setEmail(contact.getEmail());
+        snapshot.setAddress(contact.getAddress());
+        AfterCommit.run(() -> searchIndex.index(snapshot));
+        indexSync.changed(snapshot.getId());
+    }
+
+    @PostRemove
+    public void onRemove(Contact contact) {
+        Long id = contact.getId();
+        AfterCommit.run(() -> searchIndex.remove(id));
+        indexSync.changed(id);
+    }
+}
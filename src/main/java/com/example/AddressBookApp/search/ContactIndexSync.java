@@ -0,0 +1,84 @@
+package com.example.AddressBookApp.search;
+
+import com.example.AddressBookApp.cache.CacheInvalidationPublisher;
+import com.example.AddressBookApp.model.Contact;
+import com.example.AddressBookApp.repository.ContactRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Keeps the search index of every node in step with writes made on any node. The writing
+// node indexes its own changes (ContactIndexListener) and, once the transaction commits,
+// broadcasts the changed ids over the cache invalidation channel; the other nodes re-read
+// those rows and reindex them. Re-reading instead of shipping the row keeps messages
+// idempotent and order-independent, since every node converges on what the table holds.
+// Pub/sub is at-most-once: a node cut off from Redis misses changes until it restarts.
+@Component
+public class ContactIndexSync {
+
+    private final CacheInvalidationPublisher publisher;
+    // Lazy: the entity listener needs this bean while the EntityManagerFactory is built
+    private final ObjectProvider<ContactRepository> contactRepository;
+    private final ContactSearchIndex searchIndex;
+
+    public ContactIndexSync(CacheInvalidationPublisher publisher, ObjectProvider<ContactRepository> contactRepository,
+                            ContactSearchIndex searchIndex) {
+        this.publisher = publisher;
+        this.contactRepository = contactRepository;
+        this.searchIndex = searchIndex;
+        publisher.setContactChangeListener(this::reindex);
+    }
+
+    // Broadcast once the surrounding transaction commits, one message per transaction
+    public void changed(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publisher.publishContactsChanged(List.of(id));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.ids.add(id);
+    }
+
+    // Ids changed on another node: index what the table holds now, drop what is gone
+    void reindex(List<Long> ids) {
+        Map<Long, Contact> current = new HashMap<>();
+        for (Contact contact : contactRepository.getObject().findAllById(ids)) {
+            current.put(contact.getId(), contact);
+        }
+        for (Long id : ids) {
+            Contact contact = current.get(id);
+            if (contact == null) {
+                searchIndex.remove(id);
+            } else {
+                searchIndex.index(contact);
+            }
+        }
+    }
+
+    private class PendingChanges implements TransactionSynchronization {
+
+        private final Set<Long> ids = new LinkedHashSet<>();
+
+        @Override
+        public void afterCommit() {
+            publisher.publishContactsChanged(ids);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ContactIndexSync.this);
+        }
+    }
+}
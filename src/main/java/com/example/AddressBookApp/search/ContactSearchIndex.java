@@ -0,0 +1,288 @@
+package com.example.AddressBookApp.search;
+
+import com.example.AddressBookApp.model.Contact;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-process inverted index over contact name, email and address tokens.
+// Every query token is matched as a prefix of an indexed term, and all query tokens
+// must match (AND). Results are contact ids in ascending order.
+// Terms are namespaced by owner ("<ownerId>:<token>"), so a prefix scan only ever
+// walks the caller's own contacts.
+@Slf4j
+@Component
+public class ContactSearchIndex {
+
+    // Query tokens shorter than this only match whole terms, and one token never
+    // expands to more than MAX_PREFIX_TERMS terms, which keeps latency bounded. A token
+    // over the cap is checked against each candidate's own terms instead, for at most
+    // MAX_CAPPED_CANDIDATES candidates (about 1 ms at 1M contacts). Hits are flagged
+    // truncated when that budget runs out, or when every token is over the cap and the
+    // hits come from the first MAX_PREFIX_TERMS terms only.
+    static final int MIN_PREFIX_LENGTH = 2;
+    static final int MAX_PREFIX_TERMS = 256;
+    static final int MAX_CAPPED_CANDIDATES = 4096;
+
+    public record Hits(List<Long> ids, boolean truncated) {
+        public static final Hits NONE = new Hits(List.of(), false);
+    }
+
+    // Postings of the terms one query token expands to
+    private record TokenMatch(String term, List<LongPostingList> postings, boolean capped) {
+
+        long totalSize() {
+            long total = 0;
+            for (LongPostingList list : postings) {
+                total += list.size();
+            }
+            return total;
+        }
+    }
+
+    private final NavigableMap<String, LongPostingList> terms = new TreeMap<>();
+    // Terms each contact was indexed under, so updates and deletes can unindex it
+    private final Map<Long, String[]> documentTerms = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void index(Contact contact) {
+        if (contact.getId() == null) {
+            return;
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        tokenize(contact.getName(), tokens);
+        tokenize(contact.getEmail(), tokens);
+        tokenize(contact.getAddress(), tokens);
+
+        lock.writeLock().lock();
+        try {
+            unindexLocked(contact.getId());
+            // Unowned rows are not visible to any caller
+            if (contact.getOwnerId() == null) {
+                return;
+            }
+            String namespace = namespace(contact.getOwnerId());
+            String[] interned = new String[tokens.size()];
+            int i = 0;
+            for (String rawToken : tokens) {
+                String token = namespace + rawToken;
+                Map.Entry<String, LongPostingList> entry = terms.ceilingEntry(token);
+                LongPostingList postings;
+                if (entry != null && entry.getKey().equals(token)) {
+                    interned[i++] = entry.getKey();
+                    postings = entry.getValue();
+                } else {
+                    interned[i++] = token;
+                    postings = new LongPostingList();
+                    terms.put(token, postings);
+                }
+                postings.add(contact.getId());
+            }
+            documentTerms.put(contact.getId(), interned);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            unindexLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            documentTerms.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> search(Long ownerId, String query, int limit) {
+        return find(ownerId, query, limit).ids();
+    }
+
+    public Hits find(Long ownerId, String query, int limit) {
+        Set<String> queryTokens = new LinkedHashSet<>();
+        tokenize(query, queryTokens);
+        if (ownerId == null || queryTokens.isEmpty() || limit <= 0) {
+            return Hits.NONE;
+        }
+
+        String namespace = namespace(ownerId);
+        lock.readLock().lock();
+        try {
+            List<TokenMatch> matches = new ArrayList<>(queryTokens.size());
+            for (String token : queryTokens) {
+                TokenMatch match = matchingPostings(namespace, token);
+                if (match.postings().isEmpty()) {
+                    return Hits.NONE;
+                }
+                matches.add(match);
+            }
+            // Drive the intersection from the most selective complete token
+            matches.sort(Comparator.comparing(TokenMatch::capped).thenComparingLong(TokenMatch::totalSize));
+
+            TokenMatch driver = matches.get(0);
+            long[] candidates = union(driver.postings());
+            int scanned = matches.get(matches.size() - 1).capped()
+                    ? Math.min(candidates.length, MAX_CAPPED_CANDIDATES) : candidates.length;
+            List<Long> results = new ArrayList<>(Math.min(limit, scanned));
+            for (int i = 0; i < scanned && results.size() < limit; i++) {
+                if (matchesAll(candidates[i], matches)) {
+                    results.add(candidates[i]);
+                }
+            }
+            boolean truncated = driver.capped() || (results.size() < limit && scanned < candidates.length);
+            if (truncated) {
+                log.debug("Search for {} truncated: more than {} terms per token or {} candidates",
+                        queryTokens, MAX_PREFIX_TERMS, MAX_CAPPED_CANDIDATES);
+            }
+            return new Hits(results, truncated);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private TokenMatch matchingPostings(String namespace, String token) {
+        String term = namespace + token;
+        if (token.length() < MIN_PREFIX_LENGTH) {
+            LongPostingList exact = terms.get(term);
+            return new TokenMatch(term, exact == null ? List.of() : List.of(exact), false);
+        }
+        List<LongPostingList> postings = new ArrayList<>();
+        for (LongPostingList list : terms.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+            if (postings.size() == MAX_PREFIX_TERMS) {
+                return new TokenMatch(term, postings, true);
+            }
+            postings.add(list);
+        }
+        return new TokenMatch(term, postings, false);
+    }
+
+    private static long[] union(List<LongPostingList> group) {
+        if (group.size() == 1) {
+            LongPostingList postings = group.get(0);
+            long[] ids = new long[postings.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = postings.get(i);
+            }
+            return ids;
+        }
+        long total = 0;
+        for (LongPostingList postings : group) {
+            total += postings.size();
+        }
+        long[] ids = new long[(int) total];
+        int n = 0;
+        for (LongPostingList postings : group) {
+            for (int i = 0; i < postings.size(); i++) {
+                ids[n++] = postings.get(i);
+            }
+        }
+        Arrays.sort(ids);
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || ids[unique - 1] != ids[i]) {
+                ids[unique++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, unique);
+    }
+
+    private boolean matchesAll(long id, List<TokenMatch> matches) {
+        for (int m = 1; m < matches.size(); m++) {
+            TokenMatch match = matches.get(m);
+            if (match.capped() ? !hasTermWithPrefix(id, match.term()) : !containsId(match.postings(), id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsId(List<LongPostingList> postings, long id) {
+        for (LongPostingList list : postings) {
+            if (list.contains(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Exact check of a token whose postings were capped: the document's own terms
+    private boolean hasTermWithPrefix(long id, String prefix) {
+        String[] documentTerms = this.documentTerms.get(id);
+        if (documentTerms != null) {
+            for (String term : documentTerms) {
+                if (term.startsWith(prefix)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void unindexLocked(Long id) {
+        String[] previous = documentTerms.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous) {
+            LongPostingList postings = terms.get(term);
+            if (postings != null) {
+                postings.remove(id);
+                if (postings.size() == 0) {
+                    terms.remove(term);
+                }
+            }
+        }
+    }
+
+    // Tokens are letters and digits only, so the ':' separator cannot collide
+    private static String namespace(Long ownerId) {
+        return ownerId + ":";
+    }
+
+    // Lower-cased runs of letters and digits
+    static void tokenize(String text, Set<String> out) {
+        if (text == null) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                out.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.AddressBookApp.search;
+
+import com.example.AddressBookApp.model.Contact;
+import com.example.AddressBookApp.repository.ContactRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.data.domain.Limit;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Builds the search index from the contacts table once at startup, streaming rows so
+// the load itself does not hold the table in memory. Rows written before the phone_key
+// column existed are backfilled afterwards, before the instance reports ready, since
+// phone number lookups are answered from that column.
+@Slf4j
+@Component
+public class ContactSearchIndexLoader implements ApplicationRunner {
+
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+
+    private final ContactRepository contactRepository;
+    private final ContactSearchIndex searchIndex;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate backfillTemplate;
+
+    public ContactSearchIndexLoader(ContactRepository contactRepository, ContactSearchIndex searchIndex,
+                                    EntityManager entityManager,
+                                    PlatformTransactionManager transactionManager) {
+        this.contactRepository = contactRepository;
+        this.searchIndex = searchIndex;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.backfillTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Contact> contacts = contactRepository.streamAll()) {
+                contacts.forEach(contact -> {
+                    searchIndex.index(contact);
+                    entityManager.detach(contact);
+                });
+            }
+        });
+        log.info("Contact search index built with {} contacts in {} ms.",
+                searchIndex.size(), System.currentTimeMillis() - start);
+        backfillPhoneKeys();
+    }
+
+    private void backfillPhoneKeys() {
+        long lastId = 0L;
+        int updated = 0;
+        while (true) {
+            long after = lastId;
+            List<Contact> chunk = backfillTemplate.execute(status -> {
+                List<Contact> rows = contactRepository.findByIdGreaterThanAndPhoneKeyIsNullAndPhoneNumberIsNotNullOrderByIdAsc(
+                        after, Limit.of(BACKFILL_CHUNK_SIZE));
+                rows.forEach(contact -> contact.setPhoneKey(PhoneNumbers.toKey(contact.getPhoneNumber())));
+                return rows;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            for (Contact contact : chunk) {
+                if (contact.getPhoneKey() != null) {
+                    updated++;
+                }
+            }
+            lastId = chunk.get(chunk.size() - 1).getId();
+        }
+        if (updated > 0) {
+            log.info("Backfilled phone_key for {} contacts.", updated);
+        }
+    }
+}
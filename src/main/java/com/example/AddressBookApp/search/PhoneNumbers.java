@@ -0,0 +1,58 @@
+package com.example.AddressBookApp.search;
+
+// Canonical numeric key for phone numbers: country code followed by the national
+// number, e.g. "+91 98765-43210", "098765 43210" and "9876543210" all map to
+// 919876543210. Numbers without a country code are assumed to be Indian, matching
+// the contact validation rules.
+public final class PhoneNumbers {
+
+    static final String DEFAULT_COUNTRY_CODE = "91";
+    private static final int NATIONAL_LENGTH = 10;
+    // E.164 allows at most 15 digits, which always fits in a long
+    private static final int MAX_DIGITS = 15;
+
+    private PhoneNumbers() {
+    }
+
+    // Returns the canonical key, or null if the input does not look like a phone number
+    public static Long toKey(String phoneNumber) {
+        if (phoneNumber == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(phoneNumber.length());
+        boolean international = false;
+        for (int i = 0; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c == '+' && digits.length() == 0) {
+                international = true;
+            }
+        }
+
+        // "00" is the international dialling prefix, a single leading "0" a trunk prefix
+        if (!international && digits.length() > 2 && digits.charAt(0) == '0' && digits.charAt(1) == '0') {
+            digits.delete(0, 2);
+            international = true;
+        } else if (!international && digits.length() == NATIONAL_LENGTH + 1 && digits.charAt(0) == '0') {
+            digits.deleteCharAt(0);
+        }
+
+        String canonical;
+        if (international) {
+            canonical = digits.toString();
+        } else if (digits.length() == NATIONAL_LENGTH) {
+            canonical = DEFAULT_COUNTRY_CODE + digits;
+        } else if (digits.length() == NATIONAL_LENGTH + DEFAULT_COUNTRY_CODE.length()
+                && digits.indexOf(DEFAULT_COUNTRY_CODE) == 0) {
+            canonical = digits.toString();
+        } else {
+            return null;
+        }
+
+        if (canonical.length() < 7 || canonical.length() > MAX_DIGITS) {
+            return null;
+        }
+        return Long.parseLong(canonical);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.AddressBookApp.security;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
+
+// Requires a valid "Authorization: Bearer <jwt>" header. Recently verified tokens are
+// kept in a small bounded cache (never past their own expiry), so repeat requests skip
+// the HMAC check entirely.
+@Slf4j
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String PRINCIPAL_ATTRIBUTE = JwtPrincipal.class.getName();
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, JwtPrincipal> verifiedTokens;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, long cacheSize, Duration cacheTtl) {
+        this.jwtUtil = jwtUtil;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String token, JwtPrincipal principal, long currentTime) {
+                        long untilExpiry = Duration.between(Instant.now(), principal.expiresAt()).toNanos();
+                        return Math.max(0, Math.min(untilExpiry, cacheTtl.toNanos()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // Let CORS preflight through
+        if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            reject(response, "Missing bearer token");
+            return;
+        }
+
+        JwtPrincipal principal = authenticate(header.substring(BEARER_PREFIX.length()).trim());
+        if (principal == null) {
+            reject(response, "Invalid or expired token");
+            return;
+        }
+
+        request.setAttribute(PRINCIPAL_ATTRIBUTE, principal);
+        filterChain.doFilter(new AuthenticatedRequest(request, principal), response);
+    }
+
+    JwtPrincipal authenticate(String token) {
+        JwtPrincipal cached = verifiedTokens.getIfPresent(token);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+        try {
+            DecodedJWT jwt = jwtUtil.verify(token);
+            Long userId = parseUserId(jwt.getSubject());
+            String email = jwt.getClaim(JwtUtil.EMAIL_CLAIM).asString();
+            if (userId == null || email == null || jwt.getExpiresAtAsInstant() == null) {
+                return null;
+            }
+            JwtPrincipal principal = new JwtPrincipal(userId, email, jwt.getExpiresAtAsInstant());
+            verifiedTokens.put(token, principal);
+            return principal;
+        } catch (JWTVerificationException e) {
+            log.debug("Rejected token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Tokens issued before contacts were scoped per user carry the email as subject
+    private static Long parseUserId(String subject) {
+        if (subject == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(subject);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+
+    // Exposes the principal through the standard servlet API as well
+    private static class AuthenticatedRequest extends HttpServletRequestWrapper {
+        private final JwtPrincipal principal;
+
+        AuthenticatedRequest(HttpServletRequest request, JwtPrincipal principal) {
+            super(request);
+            this.principal = principal;
+        }
+
+        @Override
+        public Principal getUserPrincipal() {
+            return principal;
+        }
+
+        @Override
+        public String getRemoteUser() {
+            return principal.getName();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.AddressBookApp.security;
+
+import java.security.Principal;
+import java.time.Instant;
+
+// Authenticated caller, built from the token's claims alone (no UserRepository lookup).
+// userId comes from the token subject and is the owner of the caller's contacts.
+public record JwtPrincipal(Long userId, String email, Instant expiresAt) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
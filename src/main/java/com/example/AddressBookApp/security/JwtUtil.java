@@ -13,33 +13,44 @@ import java.util.Date;
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
-
     private static final long EXPIRATION_TIME = 60 * 60 * 1000; // 1 hour
+    private static final String ISSUER = "MyApp";
+    static final String EMAIL_CLAIM = "email";
+
+    // Both are immutable and thread-safe, so build them once instead of per call
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+
+    public JwtUtil(@Value("${jwt.secret}") String secretKey) {
+        this.algorithm = Algorithm.HMAC256(secretKey);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+    }
 
-    // Generate JWT Token using HMAC256
-    public String generateToken(String email) {
+    // Generate JWT Token using HMAC256; the subject is the user id, which scopes contacts
+    public String generateToken(Long userId, String email) {
         return JWT.create()
-                .withSubject(email)
-                .withIssuer("MyApp")
+                .withSubject(String.valueOf(userId))
+                .withClaim(EMAIL_CLAIM, email)
+                .withIssuer(ISSUER)
                 .withIssuedAt(new Date())
                 .withExpiresAt(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .sign(Algorithm.HMAC256(secretKey));
+                .sign(algorithm);
+    }
+
+    // Verify signature, issuer and expiry; throws JWTVerificationException if invalid
+    public DecodedJWT verify(String token) {
+        return verifier.verify(token);
     }
 
     // Validate JWT Token using HMAC256
     public String validateToken(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secretKey);
-            JWTVerifier verifier = JWT.require(algorithm)
-                    .withIssuer("MyApp")
-                    .build();
-
-            DecodedJWT decodedJWT = verifier.verify(token);
-            return decodedJWT.getSubject(); // Returns email if valid
+            DecodedJWT decodedJWT = verify(token);
+            return decodedJWT.getClaim(EMAIL_CLAIM).asString(); // Returns email if valid
         } catch (JWTVerificationException e) {
             return null; // Invalid token
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.example.AddressBookApp.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Checked before UserService.authenticateUser so throttled attempts cost neither a
+// database lookup nor a BCrypt comparison
+@Component
+public class LoginThrottle {
+
+    private final RateLimiter perIp;
+    private final RateLimiter perAccount;
+
+    public LoginThrottle(@Value("${security.login-throttle.ip.per-minute:30}") int ipPerMinute,
+                         @Value("${security.login-throttle.ip.burst:30}") int ipBurst,
+                         @Value("${security.login-throttle.account.per-minute:5}") int accountPerMinute,
+                         @Value("${security.login-throttle.account.burst:5}") int accountBurst,
+                         @Value("${security.login-throttle.max-keys:100000}") long maxKeys,
+                         @Value("${security.login-throttle.idle-ttl:15m}") Duration idleTtl) {
+        this.perIp = new RateLimiter(ipPerMinute, ipBurst, maxKeys, idleTtl);
+        this.perAccount = new RateLimiter(accountPerMinute, accountBurst, maxKeys, idleTtl);
+    }
+
+    // Returns 0 if the attempt may proceed, otherwise the seconds to wait before retrying
+    public long checkLoginAttempt(String email, String clientIp) {
+        long wait = perIp.tryAcquire(clientIp == null ? "unknown" : clientIp);
+        if (wait == 0 && email != null) {
+            wait = perAccount.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+        }
+        return wait == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait) + 1);
+    }
+}
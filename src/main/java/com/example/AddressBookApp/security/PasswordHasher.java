@@ -0,0 +1,128 @@
+package com.example.AddressBookApp.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Runs BCrypt on a dedicated, bounded pool so login storms cannot take every request
+// thread. A full queue or a wait longer than max-wait fails fast with
+// PasswordHashingUnavailableException instead of piling up.
+@Component
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abyx]?\\$(\\d{2})\\$");
+
+    private final BCryptPasswordEncoder encoder;
+    private final int strength;
+    private final Duration maxWait;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeQueueWait;
+    private final Timer matchesQueueWait;
+    private final Timer encodeTime;
+    private final Timer matchesTime;
+
+    public PasswordHasher(MeterRegistry meterRegistry,
+                          @Value("${security.bcrypt.strength:10}") int strength,
+                          @Value("${security.bcrypt.threads:0}") int threads,
+                          @Value("${security.bcrypt.queue-capacity:64}") int queueCapacity,
+                          @Value("${security.bcrypt.max-wait:5s}") Duration maxWait) {
+        this.strength = strength;
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.maxWait = maxWait;
+
+        // Default leaves a core free for the rest of the application
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.encodeQueueWait = histogram(meterRegistry, "password.hash.queue.wait", "encode");
+        this.matchesQueueWait = histogram(meterRegistry, "password.hash.queue.wait", "matches");
+        this.encodeTime = histogram(meterRegistry, "password.hash.time", "encode");
+        this.matchesTime = histogram(meterRegistry, "password.hash.time", "matches");
+    }
+
+    private static Timer histogram(MeterRegistry meterRegistry, String name, String operation) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .tag("dependency", "bcrypt")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword), encodeQueueWait, encodeTime);
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(() -> encoder.matches(rawPassword, encodedPassword), matchesQueueWait, matchesTime);
+    }
+
+    // True when the stored hash was made with a different cost than the configured one
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private <T> T submit(Callable<T> task, Timer queueWait, Timer hashTime) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWait.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    hashTime.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingUnavailableException("Password hashing is at capacity, please retry shortly");
+        }
+
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingUnavailableException("Password hashing timed out, please retry shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingUnavailableException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
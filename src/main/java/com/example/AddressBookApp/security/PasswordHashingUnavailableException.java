@@ -0,0 +1,8 @@
+package com.example.AddressBookApp.security;
+
+// Thrown when the password-hashing pool is saturated; callers should answer 503
+public class PasswordHashingUnavailableException extends RuntimeException {
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
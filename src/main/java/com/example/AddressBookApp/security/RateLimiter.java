@@ -0,0 +1,44 @@
+package com.example.AddressBookApp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keyed token bucket implemented as GCRA: each key is a single AtomicLong holding the
+// "theoretical arrival time" of the next request, updated with CAS, so no locks are
+// taken on the hot path. Buckets live in a bounded Caffeine map (internally striped)
+// and idle ones are evicted, so memory stays flat under key-spraying attacks.
+public class RateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(int permitsPerMinute, int burst, long maxKeys, Duration idleTtl) {
+        this.emissionIntervalNanos = Duration.ofMinutes(1).toNanos() / permitsPerMinute;
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(burst, 1) - 1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTtl)
+                .build();
+    }
+
+    // Returns 0 if a permit was taken, otherwise the nanoseconds until one is available
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong tat = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = tat.get();
+            long base = current - now > 0 ? current : now;
+            long wait = base - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
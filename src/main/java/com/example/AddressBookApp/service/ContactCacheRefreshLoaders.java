@@ -0,0 +1,27 @@
+package com.example.AddressBookApp.service;
+
+import com.example.AddressBookApp.cache.CacheEntryLoader;
+import com.example.AddressBookApp.cache.TwoLevelCache;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+// Early refresh of the contacts cache goes through the ContactService proxy, so the
+// reload runs with every interceptor a normal call gets. Keys follow the @Cacheable
+// expression on ContactService: "<ownerId>:<id>".
+@Component
+public class ContactCacheRefreshLoaders {
+
+    public ContactCacheRefreshLoaders(CacheManager cacheManager, ContactService contactService) {
+        register(cacheManager.getCache("contacts"), key -> {
+            String[] parts = String.valueOf(key).split(":", 2);
+            return contactService.loadContact(Long.valueOf(parts[0]), Long.valueOf(parts[1]));
+        });
+    }
+
+    private static void register(Cache cache, CacheEntryLoader loader) {
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.setRefreshLoader(loader);
+        }
+    }
+}
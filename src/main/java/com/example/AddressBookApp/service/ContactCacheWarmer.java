@@ -0,0 +1,133 @@
+package com.example.AddressBookApp.service;
+
+import com.example.AddressBookApp.model.Contact;
+import com.example.AddressBookApp.repository.ContactRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Fills the contacts cache with the most recently created contacts at startup, so a fresh
+// instance (or one starting against a flushed Redis) doesn't send every first read to
+// MySQL. Runners finish before Spring Boot publishes ReadinessState.ACCEPTING_TRAFFIC,
+// so /actuator/health/readiness stays OUT_OF_SERVICE until the warm-up is done or its
+// time budget runs out. Batches go out as pipelined SET NX, so entries written by live
+// traffic in the meantime are never overwritten. A failed warm-up only logs: the
+// instance then starts cold, as it did before.
+@Slf4j
+@Component
+public class ContactCacheWarmer implements ApplicationRunner {
+
+    private final ContactRepository contactRepository;
+    private final CacheManager cacheManager;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final int batchSize;
+    private final Duration timeBudget;
+    private final Counter entries;
+    private final Timer batches;
+
+    public ContactCacheWarmer(ContactRepository contactRepository, CacheManager cacheManager, EntityManager entityManager,
+                              PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                              @Value("${cache.warmup.enabled:true}") boolean enabled,
+                              @Value("${cache.warmup.max-entries:10000}") int maxEntries,
+                              @Value("${cache.warmup.batch-size:500}") int batchSize,
+                              @Value("${cache.warmup.time-budget:30s}") Duration timeBudget) {
+        this.contactRepository = contactRepository;
+        this.cacheManager = cacheManager;
+        this.entityManager = entityManager;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.batchSize = batchSize;
+        this.timeBudget = timeBudget;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // Also bounds a query that hangs before the first row arrives
+        this.transactionTemplate.setTimeout((int) Math.max(1, timeBudget.toSeconds()));
+        this.entries = Counter.builder("cache.warmup.entries").tag("cache", "contacts").register(meterRegistry);
+        this.batches = Timer.builder("cache.warmup.batch").tag("cache", "contacts").register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled && maxEntries > 0) {
+            warmUp();
+        }
+    }
+
+    // Entries written; the outcome is completed, budget_exhausted or failed
+    int warmUp() {
+        Cache cache = cacheManager.getCache("contacts");
+        if (cache == null) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        long deadline = start + timeBudget.toNanos();
+        int[] written = {0};
+        String outcome;
+        try {
+            outcome = transactionTemplate.execute(status -> fill(cache, deadline, written));
+        } catch (RuntimeException e) {
+            outcome = "failed";
+            log.warn("Contact cache warm-up failed after {} entries: {}", written[0], e.toString());
+        }
+
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("cache.warmup.duration").tag("cache", "contacts").tag("outcome", outcome)
+                .register(meterRegistry).record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Contact cache warm-up {}: {} entries in {} ms.", outcome, written[0], TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return written[0];
+    }
+
+    private String fill(Cache cache, long deadline, int[] written) {
+        Map<String, Object> batch = new LinkedHashMap<>();
+        try (Stream<Contact> contacts = contactRepository.streamMostRecent(maxEntries)) {
+            Iterator<Contact> iterator = contacts.iterator();
+            while (iterator.hasNext()) {
+                // A partly read batch is dropped rather than written past the budget
+                if (System.nanoTime() - deadline >= 0) {
+                    return "budget_exhausted";
+                }
+                Contact contact = iterator.next();
+                batch.put(contact.getOwnerId() + ":" + contact.getId(), ContactService.convertToDTO(contact));
+                entityManager.detach(contact);
+                if (batch.size() == batchSize) {
+                    written[0] += flush(cache, batch);
+                }
+            }
+        }
+        written[0] += flush(cache, batch);
+        return "completed";
+    }
+
+    private int flush(Cache cache, Map<String, Object> batch) {
+        int size = batch.size();
+        if (size > 0) {
+            batches.record(() -> ContactService.multiPut(cache, batch));
+            entries.increment(size);
+            log.debug("Contact cache warm-up wrote a batch of {} entries", size);
+            batch.clear();
+        }
+        return size;
+    }
+}
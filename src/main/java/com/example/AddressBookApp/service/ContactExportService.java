@@ -0,0 +1,115 @@
+package com.example.AddressBookApp.service;
+
+import com.example.AddressBookApp.dto.ContactDTO;
+import com.example.AddressBookApp.model.Contact;
+import com.example.AddressBookApp.repository.ContactRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class ContactExportService implements IContactExportService {
+
+    // Rows written between explicit flushes of the response buffer
+    static final int FLUSH_EVERY = 1000;
+
+    private final ContactRepository contactRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public ContactExportService(ContactRepository contactRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.contactRepository = contactRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    // ✅ Stream every contact of the owner to the output without holding them in memory
+    @Override
+    @Transactional(readOnly = true)
+    public long exportContacts(Long ownerId, ContactFileFormat format, OutputStream out) throws IOException {
+        log.info("Starting {} export of contacts for owner {}.", format, ownerId);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        JsonGenerator json = null;
+        if (format == ContactFileFormat.NDJSON) {
+            json = objectMapper.getFactory().createGenerator(writer);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            // Records are separated by our own '\n', not Jackson's default root separator (a space)
+            json.setRootValueSeparator(null);
+        } else {
+            writer.write(ContactFileFormat.CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        try (Stream<Contact> contacts = contactRepository.streamByOwnerForExport(ownerId)) {
+            Iterator<Contact> it = contacts.iterator();
+            while (it.hasNext()) {
+                Contact contact = it.next();
+                ContactDTO dto = new ContactDTO(contact.getId(), contact.getName(), contact.getPhoneNumber(), contact.getEmail(), contact.getAddress());
+                // Detach so the persistence context does not grow with the table
+                entityManager.detach(contact);
+
+                if (json != null) {
+                    json.writeObject(dto);
+                    json.flush();
+                    writer.write('\n');
+                } else {
+                    writeCsvRow(writer, dto);
+                }
+
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        if (json != null) {
+            json.close();
+        }
+        writer.flush();
+        log.info("Exported {} contacts as {}.", count, format);
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, ContactDTO dto) throws IOException {
+        writer.write(String.valueOf(dto.getId()));
+        writer.write(',');
+        writer.write(csvField(dto.getName()));
+        writer.write(',');
+        writer.write(csvField(dto.getPhoneNumber()));
+        writer.write(',');
+        writer.write(csvField(dto.getEmail()));
+        writer.write(',');
+        writer.write(csvField(dto.getAddress()));
+        writer.write('\n');
+    }
+
+    // RFC 4180 quoting: only quote when the value needs it
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                needsQuotes = true;
+                break;
+            }
+        }
+        return needsQuotes ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
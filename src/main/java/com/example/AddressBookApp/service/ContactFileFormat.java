@@ -0,0 +1,27 @@
+package com.example.AddressBookApp.service;
+
+// Wire formats accepted by the bulk import and produced by the bulk export
+public enum ContactFileFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    public static final String CSV_HEADER = "id,name,phoneNumber,email,address";
+
+    private final String contentType;
+
+    ContactFileFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ContactFileFormat from(String value) {
+        try {
+            return ContactFileFormat.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unsupported file format: " + value);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.AddressBookApp.service;
+
+import com.example.AddressBookApp.dto.ContactDTO;
+import com.example.AddressBookApp.dto.ContactImportResultDTO;
+import com.example.AddressBookApp.model.Contact;
+import com.example.AddressBookApp.validation.ContactValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class ContactImportService implements IContactImportService {
+
+    // Rows per transaction; matches hibernate.jdbc.batch_size
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ContactValidator contactValidator;
+
+    public ContactImportService(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper, ContactValidator contactValidator) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.contactValidator = contactValidator;
+    }
+
+    // ✅ Import contacts in chunked transactions, collecting per-row errors
+    @Override
+    public ContactImportResultDTO importContacts(Long ownerId, ContactFileFormat format, InputStream in) throws IOException {
+        log.info("Starting {} import of contacts for owner {}.", format, ownerId);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        RecordReader records = format == ContactFileFormat.CSV ? new CsvRecordReader(reader) : new NdjsonRecordReader(reader);
+
+        ContactImportResultDTO result = new ContactImportResultDTO();
+        List<Contact> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<Long> chunkRows = new ArrayList<>(CHUNK_SIZE);
+        long row = 0;
+
+        ContactDTO contactDTO;
+        while (true) {
+            row++;
+            try {
+                contactDTO = records.next();
+            } catch (IllegalArgumentException e) {
+                recordError(result, row, List.of(e.getMessage()));
+                continue;
+            }
+            if (contactDTO == null) {
+                break;
+            }
+
+            int errorMask = contactValidator.check(contactDTO);
+            if (errorMask != ContactValidator.VALID) {
+                recordError(result, row, ContactValidator.messages(errorMask));
+                continue;
+            }
+
+            Contact contact = new Contact(null, contactDTO.getName(), contactDTO.getPhoneNumber(), contactDTO.getEmail(), contactDTO.getAddress());
+            contact.setOwnerId(ownerId);
+            chunk.add(contact);
+            chunkRows.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                writeChunk(chunk, chunkRows, result);
+            }
+        }
+        writeChunk(chunk, chunkRows, result);
+
+        log.info("Contact import finished: {} imported, {} failed.", result.getImported(), result.getFailed());
+        return result;
+    }
+
+    // One transaction per chunk; a failing chunk is reported without undoing earlier ones
+    private void writeChunk(List<Contact> chunk, List<Long> chunkRows, ContactImportResultDTO result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Contact contact : chunk) {
+                    entityManager.persist(contact);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            result.setImported(result.getImported() + chunk.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to save import chunk of {} rows: {}", chunk.size(), e.getMessage());
+            for (Long failedRow : chunkRows) {
+                recordError(result, failedRow, List.of("Failed to save contact: " + e.getMessage()));
+            }
+        }
+        chunk.clear();
+        chunkRows.clear();
+    }
+
+    private void recordError(ContactImportResultDTO result, long row, List<String> errors) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ContactImportResultDTO.RowError(row, errors));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    // Returns the next record, null at end of input, or throws IllegalArgumentException for an unparseable one
+    private interface RecordReader {
+        ContactDTO next() throws IOException;
+    }
+
+    private class NdjsonRecordReader implements RecordReader {
+        private final BufferedReader reader;
+
+        NdjsonRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ContactDTO next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            try {
+                return objectMapper.readValue(line, ContactDTO.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON record: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    static class CsvRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private Map<String, Integer> columns;
+
+        CsvRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ContactDTO next() throws IOException {
+            if (columns == null) {
+                readHeader();
+            }
+            List<String> fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+            return new ContactDTO(null, field(fields, "name"), field(fields, "phonenumber"),
+                    field(fields, "email"), field(fields, "address"));
+        }
+
+        private void readHeader() throws IOException {
+            List<String> header = readRecord();
+            if (header == null) {
+                header = List.of();
+            }
+            columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : List.of("name", "phonenumber", "email", "address")) {
+                if (!columns.containsKey(required)) {
+                    columns = null;
+                    throw new IllegalStateException("CSV header must contain: " + ContactFileFormat.CSV_HEADER);
+                }
+            }
+        }
+
+        private String field(List<String> fields, String column) {
+            int index = columns.get(column);
+            return index < fields.size() ? fields.get(index) : null;
+        }
+
+        // RFC 4180 record: quoted fields may contain commas, doubled quotes and line breaks
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            while (c == '\r' || c == '\n') {
+                c = reader.read();
+            }
+            if (c == -1) {
+                return null;
+            }
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == '\r') {
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
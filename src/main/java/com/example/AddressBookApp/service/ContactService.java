@@ -1,105 +1,372 @@
 package com.example.AddressBookApp.service;
 
+import com.example.AddressBookApp.cache.TwoLevelCache;
 import com.example.AddressBookApp.dto.ContactDTO;
+import com.example.AddressBookApp.dto.ContactPageDTO;
+import com.example.AddressBookApp.dto.ContactSearchResultDTO;
+import com.example.AddressBookApp.logging.LogSampler;
 import com.example.AddressBookApp.model.Contact;
 import com.example.AddressBookApp.repository.ContactRepository;
+import com.example.AddressBookApp.search.AfterCommit;
+import com.example.AddressBookApp.search.ContactIndexSync;
+import com.example.AddressBookApp.search.ContactSearchIndex;
+import com.example.AddressBookApp.search.PhoneNumbers;
+import com.example.AddressBookApp.validation.ContactValidator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class ContactService implements IContactService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+    public static final int MAX_BATCH_SIZE = 500;
+
+    // Hot-path log lines are rate-sampled per call site; dropped ones cost one CAS
+    private static final LogSampler FETCH_LOG = LogSampler.perSecond(10);
+    private static final LogSampler NOT_FOUND_LOG = LogSampler.perSecond(10);
+    private static final LogSampler WRITE_LOG = LogSampler.perSecond(10);
+
     @Autowired
     private ContactRepository contactRepository;
 
-    public ContactService(ContactRepository contactRepository) {
+    private final ContactSearchIndex searchIndex;
+    private final ContactValidator contactValidator;
+    private final CacheManager cacheManager;
+    private final ContactIndexSync indexSync;
+
+    public ContactService(ContactRepository contactRepository, ContactSearchIndex searchIndex,
+                          ContactValidator contactValidator, CacheManager cacheManager, ContactIndexSync indexSync) {
         this.contactRepository = contactRepository;
+        this.searchIndex = searchIndex;
+        this.contactValidator = contactValidator;
+        this.cacheManager = cacheManager;
+        this.indexSync = indexSync;
     }
 
     // ✅ Convert Model to DTO
-    private ContactDTO convertToDTO(Contact contact) {
-        return new ContactDTO(contact.getId(), contact.getName(), contact.getPhoneNumber(), contact.getEmail(), contact.getAddress());
+    static ContactDTO convertToDTO(Contact contact) {
+        return new ContactDTO(contact.getId(), contact.getName(), contact.getPhoneNumber(), contact.getEmail(), contact.getAddress(),
+                contact.getVersion());
     }
 
-    // ✅ Convert DTO to Model
-    private Contact convertToEntity(ContactDTO contactDTO) {
-        return new Contact(contactDTO.getId(), contactDTO.getName(), contactDTO.getPhoneNumber(), contactDTO.getEmail(), contactDTO.getAddress());
+    // ✅ Convert DTO to a new Model. The client's id is never used: save() would merge onto
+    // whatever row has that id, whoever owns it
+    Contact convertToEntity(Long ownerId, ContactDTO contactDTO) {
+        Contact contact = new Contact(null, contactDTO.getName(), contactDTO.getPhoneNumber(), contactDTO.getEmail(), contactDTO.getAddress());
+        contact.setOwnerId(ownerId);
+        return contact;
     }
 
-    // ✅ Fetch all contacts (Cache result)
+    // Every method is scoped to the owning user, and cache keys are prefixed with the
+    // owner id so one user's writes never evict another user's cached contacts
+
+    // ✅ Uncached read behind getContactById, used to refresh its cache entries early
+    // (see ContactCacheRefreshLoaders)
+    public ContactDTO loadContact(Long ownerId, Long id) {
+        return contactRepository.findByIdAndOwnerId(id, ownerId).map(ContactService::convertToDTO).orElse(null);
+    }
+
+    // ✅ Fetch one page of contacts using keyset pagination on id
     @Override
-    @Cacheable(value = "allContacts")
-    public List<ContactDTO> getAllContacts() {
-        log.info("Fetching all contacts from the database.");
-        return contactRepository.findAll()
-                .stream()
-                .map(this::convertToDTO)
+    public ContactPageDTO getContactsPage(Long ownerId, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+        List<Contact> rows = (cursor == null || cursor.isBlank())
+                ? contactRepository.findByOwnerIdOrderByIdAsc(ownerId, limit)
+                : contactRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(ownerId, decodeCursor(cursor), limit);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ContactDTO> contacts = rows.stream()
+                .limit(pageSize)
+                .map(ContactService::convertToDTO)
                 .collect(Collectors.toList());
+        String nextCursor = hasNext ? encodeCursor(contacts.get(contacts.size() - 1).getId()) : null;
+
+        log.debug("Fetched contact page of {} rows, hasNext={}", contacts.size(), hasNext);
+        return new ContactPageDTO(contacts, contacts.size(), nextCursor);
     }
 
-    // ✅ Fetch a single contact by ID (Cache result)
+    // ✅ Prefix/token search over name, email and address via the in-memory index
     @Override
-    @Cacheable(value = "contacts", key = "#id")
-    public ContactDTO getContactById(Long id) {
-        log.info("Fetching contact with ID: {}", id);
-        Optional<Contact> contact = contactRepository.findById(id);
-        if (contact.isPresent()) {
-            log.info("Contact found: {}", contact.get());
-        } else {
-            log.warn("Contact with ID {} not found.", id);
+    public ContactSearchResultDTO searchContacts(Long ownerId, String query, Integer limit) {
+        int maxResults = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+        if (maxResults < 1 || maxResults > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        ContactSearchIndex.Hits hits = searchIndex.find(ownerId, query, maxResults);
+        List<Long> ids = hits.ids();
+        if (ids.isEmpty()) {
+            return new ContactSearchResultDTO(List.of(), hits.truncated());
         }
-        return contact.map(this::convertToDTO).orElse(null);
+
+        // One IN query for the hits, returned in index order
+        Map<Long, Contact> byId = contactRepository.findByOwnerIdAndIdIn(ownerId, ids).stream()
+                .collect(Collectors.toMap(Contact::getId, Function.identity()));
+        List<ContactDTO> contacts = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(ContactService::convertToDTO)
+                .collect(Collectors.toList());
+        return new ContactSearchResultDTO(contacts, hits.truncated());
     }
 
-    // ✅ Create new contact (Evict cache)
+    // ✅ Reverse lookup: which contacts own this number, in any common formatting
     @Override
-    @CacheEvict(value = {"contacts", "allContacts"}, allEntries = true)
-    public ContactDTO createContact(ContactDTO contactDTO) {
-        log.info("Creating new contact: {}", contactDTO);
-        Contact contact = convertToEntity(contactDTO);
+    public List<ContactDTO> findByPhoneNumber(Long ownerId, String phoneNumber) {
+        Long phoneKey = PhoneNumbers.toKey(phoneNumber);
+        if (phoneKey == null) {
+            throw new IllegalArgumentException("Invalid phone number: " + phoneNumber);
+        }
+
+        // Answered from the (owner_id, phone_key) index, so every node sees every write
+        return contactRepository.findByOwnerIdAndPhoneKey(ownerId, phoneKey).stream()
+                .map(ContactService::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // ✅ Fetch a single contact by ID (Cache result, concurrent misses share one load)
+    @Override
+    @Cacheable(value = "contacts", key = "#ownerId + ':' + #id", sync = true)
+    public ContactDTO getContactById(Long ownerId, Long id) {
+        if (log.isDebugEnabled() && FETCH_LOG.sample()) {
+            log.debug("Fetching contact with ID: {} ({} similar skipped)", id, FETCH_LOG.takeSkipped());
+        }
+        Optional<Contact> contact = contactRepository.findByIdAndOwnerId(id, ownerId);
+        if (contact.isEmpty() && log.isWarnEnabled() && NOT_FOUND_LOG.sample()) {
+            log.warn("Contact with ID {} not found ({} similar skipped).", id, NOT_FOUND_LOG.takeSkipped());
+        }
+        return contact.map(ContactService::convertToDTO).orElse(null);
+    }
+
+    // ✅ Batch fetch by ids: one multi-get on the contacts cache, one IN query for the
+    // misses, one backfill of what was loaded. Aligned with ids, null where not found
+    @Override
+    public List<ContactDTO> getContactsByIds(Long ownerId, List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " ids per batch");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Ids must not be null");
+        }
+        Cache cache = cacheManager.getCache("contacts");
+        List<String> keys = ids.stream().map(id -> ownerId + ":" + id).collect(Collectors.toList());
+        List<Object> cached = multiGet(cache, keys);
+
+        Set<Long> missing = new LinkedHashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (cached.get(i) == null) {
+                missing.add(ids.get(i));
+            }
+        }
+        Map<Long, ContactDTO> loaded = new HashMap<>();
+        if (!missing.isEmpty()) {
+            for (Contact contact : contactRepository.findByOwnerIdAndIdIn(ownerId, missing)) {
+                loaded.put(contact.getId(), convertToDTO(contact));
+            }
+            Map<String, Object> backfill = new LinkedHashMap<>();
+            loaded.forEach((id, dto) -> backfill.put(ownerId + ":" + id, dto));
+            multiPut(cache, backfill);
+        }
+
+        List<ContactDTO> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Object hit = cached.get(i);
+            results.add(hit != null ? (ContactDTO) hit : loaded.get(ids.get(i)));
+        }
+        log.debug("Batch fetch of {} ids: {} cached, {} loaded", ids.size(), ids.size() - missing.size(), loaded.size());
+        return results;
+    }
+
+    private static List<Object> multiGet(Cache cache, List<String> keys) {
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            return twoLevelCache.getAll(keys);
+        }
+        List<Object> values = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Cache.ValueWrapper wrapper = cache == null ? null : cache.get(key);
+            values.add(wrapper == null ? null : wrapper.get());
+        }
+        return values;
+    }
+
+    static void multiPut(Cache cache, Map<String, Object> entries) {
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.putAllIfAbsent(entries);
+        } else if (cache != null) {
+            entries.forEach(cache::putIfAbsent);
+        }
+    }
+
+    // ✅ Create new contact (Write-through per-id cache)
+    @Override
+    @CachePut(value = "contacts", key = "#ownerId + ':' + #result.id", unless = "#result == null")
+    public ContactDTO createContact(Long ownerId, ContactDTO contactDTO) {
+        int errorMask = contactValidator.check(contactDTO);
+        if (errorMask != ContactValidator.VALID) {
+            throw new IllegalArgumentException(String.join(", ", ContactValidator.messages(errorMask)));
+        }
+        Contact contact = convertToEntity(ownerId, contactDTO);
         Contact savedContact = contactRepository.save(contact);
-        log.info("Contact saved successfully with ID: {}", savedContact.getId());
+        if (log.isInfoEnabled() && WRITE_LOG.sample()) {
+            log.info("Contact saved successfully with ID: {}", savedContact.getId());
+        }
         return convertToDTO(savedContact);
     }
 
-    // ✅ Update contact (Evict cache)
+    // ✅ Update contact (Write-through per-id cache)
+    // expectedVersion (from If-Match) must still be current; a concurrent write between
+    // the read and the save is caught by @Version either way
     @Override
-    @CacheEvict(value = {"contacts", "allContacts"}, allEntries = true)
-    public ContactDTO updateContact(Long id, ContactDTO contactDTO) {
-        Optional<Contact> optionalContact = contactRepository.findById(id);
+    @CachePut(value = "contacts", key = "#ownerId + ':' + #id", unless = "#result == null")
+    public ContactDTO updateContact(Long ownerId, Long id, ContactDTO contactDTO, Long expectedVersion) {
+        int errorMask = contactValidator.check(contactDTO);
+        if (errorMask != ContactValidator.VALID) {
+            throw new IllegalArgumentException(String.join(", ", ContactValidator.messages(errorMask)));
+        }
+        Optional<Contact> optionalContact = contactRepository.findByIdAndOwnerId(id, ownerId);
 
         if (optionalContact.isPresent()) {
             Contact contact = optionalContact.get();
+            if (expectedVersion != null && expectedVersion != contact.getVersion()) {
+                throw new OptimisticLockingFailureException("Contact " + id + " is at version " + contact.getVersion()
+                        + ", not " + expectedVersion);
+            }
             contact.setName(contactDTO.getName());
             contact.setPhoneNumber(contactDTO.getPhoneNumber());
             contact.setEmail(contactDTO.getEmail());
-            contactRepository.save(contact);
-            log.info("Contact updated successfully: {}", contact);
-            return convertToDTO(contact);
+            contact.setAddress(contactDTO.getAddress());
+            Contact savedContact = contactRepository.save(contact);
+            if (log.isInfoEnabled() && WRITE_LOG.sample()) {
+                log.info("Contact {} updated successfully.", id);
+            }
+            return convertToDTO(savedContact);
         } else {
             log.warn("Attempted to update non-existing contact with ID: {}", id);
         }
         return null;
     }
 
-    // ✅ Delete contact (Evict cache)
+    // ✅ Patch contact: load, apply only the fields present, save. @DynamicUpdate keeps
+    // the UPDATE to the changed columns (Write-through per-id cache)
+    @Override
+    @CachePut(value = "contacts", key = "#ownerId + ':' + #id", unless = "#result == null")
+    public ContactDTO patchContact(Long ownerId, Long id, ContactDTO patch, Long expectedVersion) {
+        int errorMask = contactValidator.checkPresent(patch);
+        if (errorMask != ContactValidator.VALID) {
+            throw new IllegalArgumentException(String.join(", ", ContactValidator.messages(errorMask)));
+        }
+        Optional<Contact> optionalContact = contactRepository.findByIdAndOwnerId(id, ownerId);
+        if (optionalContact.isEmpty()) {
+            log.warn("Attempted to patch non-existing contact with ID: {}", id);
+            return null;
+        }
+        Contact contact = optionalContact.get();
+        if (expectedVersion != null && expectedVersion != contact.getVersion()) {
+            throw new OptimisticLockingFailureException("Contact " + id + " is at version " + contact.getVersion()
+                    + ", not " + expectedVersion);
+        }
+        if (patch.getName() != null) {
+            contact.setName(patch.getName());
+        }
+        if (patch.getPhoneNumber() != null) {
+            contact.setPhoneNumber(patch.getPhoneNumber());
+        }
+        if (patch.getEmail() != null) {
+            contact.setEmail(patch.getEmail());
+        }
+        if (patch.getAddress() != null) {
+            contact.setAddress(patch.getAddress());
+        }
+        Contact savedContact = contactRepository.save(contact);
+        return convertToDTO(savedContact);
+    }
+
+    // ✅ Patch contact as one conditional UPDATE, no read first (Evict per-id cache). False
+    // when no row matched: missing, or not at expectedVersion.
+    // The eviction waits for the commit: done earlier, a read in between would cache the
+    // pre-patch row again.
     @Override
-    @CacheEvict(value = {"contacts", "allContacts"}, key = "#id")
-    public void deleteContact(Long id) {
-        log.info("Deleting contact with ID: {}", id);
-        if (contactRepository.existsById(id)) {
+    @Transactional
+    public boolean patchContactInPlace(Long ownerId, Long id, ContactDTO patch, Long expectedVersion) {
+        int errorMask = contactValidator.checkPresent(patch);
+        if (errorMask != ContactValidator.VALID) {
+            throw new IllegalArgumentException(String.join(", ", ContactValidator.messages(errorMask)));
+        }
+        if (contactRepository.patchInPlace(ownerId, id, patch, expectedVersion) == 0) {
+            return false;
+        }
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache("contacts");
+            if (cache != null) {
+                cache.evict(ownerId + ":" + id);
+            }
+        });
+        // The bulk UPDATE skips ContactIndexListener; the search index needs the whole row back
+        if (patch.getName() != null || patch.getEmail() != null || patch.getAddress() != null) {
+            AfterCommit.run(() -> contactRepository.findByIdAndOwnerId(id, ownerId).ifPresent(searchIndex::index));
+            indexSync.changed(id);
+        }
+        return true;
+    }
+
+    // ✅ Delete contact (Evict per-id cache)
+    @Override
+    @CacheEvict(value = "contacts", key = "#ownerId + ':' + #id")
+    public boolean deleteContact(Long ownerId, Long id) {
+        if (contactRepository.existsByIdAndOwnerId(id, ownerId)) {
             contactRepository.deleteById(id);
-            log.info("Contact with ID {} deleted successfully.", id);
-        } else {
-            log.warn("Attempted to delete non-existing contact with ID: {}", id);
+            if (log.isInfoEnabled() && WRITE_LOG.sample()) {
+                log.info("Contact with ID {} deleted successfully.", id);
+            }
+            return true;
+        }
+        log.warn("Attempted to delete non-existing contact with ID: {}", id);
+        return false;
+    }
+
+    // Cursor is the last seen id, base64url-encoded so clients treat it as opaque
+    static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Long decodeCursor(String cursor) {
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+package com.example.AddressBookApp.service;
+
+import com.example.AddressBookApp.config.ThreadingMode;
+import com.example.AddressBookApp.model.EmailOutbox;
+import com.example.AddressBookApp.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Polls the outbox and delivers due mail on a small bounded worker pool. Each batch is
+// handed to JavaMailSender.send(MimeMessage...), which sends it over a single SMTP
+// connection instead of one handshake per message.
+@Slf4j
+@Component
+public class EmailDispatcher {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final String fromEmail;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration lease;
+    private final ThreadPoolExecutor workers;
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    public EmailDispatcher(EmailOutboxRepository outboxRepository, JavaMailSender mailSender, MeterRegistry meterRegistry,
+                           ThreadingMode threadingMode,
+                           @Value("${spring.mail.username}") String fromEmail,
+                           @Value("${mail.outbox.batch-size:50}") int batchSize,
+                           @Value("${mail.outbox.max-attempts:6}") int maxAttempts,
+                           @Value("${mail.outbox.base-backoff:30s}") Duration baseBackoff,
+                           @Value("${mail.outbox.lease:5m}") Duration lease,
+                           @Value("${mail.outbox.threads:2}") int threads) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.fromEmail = fromEmail;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = baseBackoff;
+        this.lease = lease;
+
+        // Still bounded in virtual mode: the pool size caps concurrent SMTP connections
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 2), threadingMode.ioThreadFactory("mail-dispatch-"));
+
+        Gauge.builder("mail.outbox.pending", outboxRepository, repo -> repo.countByStatus(EmailOutbox.Status.PENDING))
+                .description("Emails waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("mail.dispatch.queue", workers, pool -> pool.getQueue().size())
+                .description("Claimed batches waiting for a mail worker")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("mail.send")
+                .description("Time to deliver one SMTP batch")
+                .tag("dependency", "smtp")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("mail.sent");
+        this.failedCounter = meterRegistry.counter("mail.failed");
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval:1000}")
+    public void dispatchDue() {
+        while (workers.getQueue().remainingCapacity() > 0) {
+            Instant now = Instant.now();
+            List<EmailOutbox> due = outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+                    EmailOutbox.Status.PENDING, now, Limit.of(batchSize));
+            if (due.isEmpty()) {
+                return;
+            }
+
+            List<EmailOutbox> claimed = new ArrayList<>(due.size());
+            Instant leaseUntil = now.plus(lease);
+            for (EmailOutbox email : due) {
+                if (outboxRepository.claim(email.getId(), email.getNextAttemptAt(), leaseUntil) == 1) {
+                    claimed.add(email);
+                }
+            }
+            if (!claimed.isEmpty()) {
+                try {
+                    workers.execute(() -> sendBatch(claimed));
+                } catch (RejectedExecutionException e) {
+                    // The lease expires and another poll picks these up
+                    log.warn("Mail workers saturated, deferring {} emails.", claimed.size());
+                    return;
+                }
+            }
+            if (due.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    void sendBatch(List<EmailOutbox> batch) {
+        Map<MimeMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        List<EmailOutbox> failed = new ArrayList<>();
+        Map<EmailOutbox, String> errors = new IdentityHashMap<>();
+
+        for (EmailOutbox email : batch) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException e) {
+                // A message that cannot be built will never succeed
+                email.setAttempts(maxAttempts - 1);
+                failed.add(email);
+                errors.put(email, e.getMessage());
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            long start = System.nanoTime();
+            try {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                e.getFailedMessages().forEach((message, cause) -> {
+                    EmailOutbox email = messages.get(message);
+                    if (email != null) {
+                        failed.add(email);
+                        errors.put(email, cause.getMessage());
+                    }
+                });
+                if (e.getFailedMessages().isEmpty()) {
+                    markAllFailed(messages.values(), failed, errors, e);
+                }
+            } catch (MailException e) {
+                markAllFailed(messages.values(), failed, errors, e);
+            } finally {
+                sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        Instant now = Instant.now();
+        for (EmailOutbox email : batch) {
+            if (errors.containsKey(email)) {
+                scheduleRetry(email, errors.get(email), now);
+            } else {
+                email.setStatus(EmailOutbox.Status.SENT);
+                email.setSentAt(now);
+                email.setAttempts(email.getAttempts() + 1);
+                sentCounter.increment();
+            }
+        }
+        outboxRepository.saveAll(batch);
+        log.info("Mail batch delivered: {} sent, {} failed.", batch.size() - failed.size(), failed.size());
+    }
+
+    private void markAllFailed(Iterable<EmailOutbox> emails, List<EmailOutbox> failed, Map<EmailOutbox, String> errors, Exception e) {
+        for (EmailOutbox email : emails) {
+            failed.add(email);
+            errors.put(email, e.getMessage());
+        }
+    }
+
+    // Exponential backoff: base, 2x base, 4x base, ... until maxAttempts
+    private void scheduleRetry(EmailOutbox email, String error, Instant now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(error == null ? null : error.substring(0, Math.min(error.length(), 255)));
+        failedCounter.increment();
+        if (attempts >= maxAttempts) {
+            email.setStatus(EmailOutbox.Status.FAILED);
+            log.error("Giving up on email {} to {} after {} attempts: {}", email.getId(), email.getRecipient(), attempts, error);
+        } else {
+            email.setNextAttemptAt(now.plus(baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 20))));
+            log.warn("Email {} to {} failed (attempt {}), retrying at {}.", email.getId(), email.getRecipient(), attempts, email.getNextAttemptAt());
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true); // true enables HTML content
+        return message;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -1,38 +1,29 @@
 package com.example.AddressBookApp.service;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import com.example.AddressBookApp.model.EmailOutbox;
+import com.example.AddressBookApp.repository.EmailOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 
-@Service
-public class EmailService {
+import java.time.Instant;
 
-    private final JavaMailSender mailSender;
+// Queues mail in the outbox table; EmailDispatcher delivers it off the request thread
+@Slf4j
+@Service
+public class EmailService implements IEmailService {
 
-    @Value("${spring.mail.username}") // Fetching sender email from properties
-    private String fromEmail;
+    private final EmailOutboxRepository outboxRepository;
 
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailService(EmailOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
     }
 
+    @Override
     public void sendEmail(String toEmail, String subject, String body) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-            helper.setFrom(fromEmail);
-            helper.setTo(toEmail);
-            helper.setSubject(subject);
-            helper.setText(body, true); // true enables HTML content
-
-            mailSender.send(message);
-            System.out.println("Email sent successfully to " + toEmail);
-        } catch (MessagingException e) {
-            e.printStackTrace();
-            System.out.println("Failed to send email to " + toEmail);
-        }
+        Instant now = Instant.now();
+        EmailOutbox email = new EmailOutbox(null, toEmail, subject, body, EmailOutbox.Status.PENDING,
+                0, now, null, now, null);
+        outboxRepository.save(email);
+        log.info("Email to {} queued for delivery.", toEmail);
     }
-}
\ No newline at end of file
+}
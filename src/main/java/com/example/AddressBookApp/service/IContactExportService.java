@@ -0,0 +1,8 @@
+package com.example.AddressBookApp.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface IContactExportService {
+    long exportContacts(Long ownerId, ContactFileFormat format, OutputStream out) throws IOException;
+}
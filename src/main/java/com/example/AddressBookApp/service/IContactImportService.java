@@ -0,0 +1,10 @@
+package com.example.AddressBookApp.service;
+
+import com.example.AddressBookApp.dto.ContactImportResultDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface IContactImportService {
+    ContactImportResultDTO importContacts(Long ownerId, ContactFileFormat format, InputStream in) throws IOException;
+}
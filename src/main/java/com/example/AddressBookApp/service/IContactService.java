@@ -1,14 +1,21 @@
 package com.example.AddressBookApp.service;
 
 import com.example.AddressBookApp.dto.ContactDTO;
+import com.example.AddressBookApp.dto.ContactPageDTO;
+import com.example.AddressBookApp.dto.ContactSearchResultDTO;
 import com.example.AddressBookApp.model.Contact;
 
 import java.util.List;
 
 public interface IContactService {
-    List<ContactDTO> getAllContacts();
-    ContactDTO getContactById(Long id);
-    ContactDTO createContact(ContactDTO contactDTO);
-    ContactDTO updateContact(Long id, ContactDTO contactDTO);
-    void deleteContact(Long id);
+    ContactPageDTO getContactsPage(Long ownerId, String cursor, Integer size);
+    ContactSearchResultDTO searchContacts(Long ownerId, String query, Integer limit);
+    List<ContactDTO> findByPhoneNumber(Long ownerId, String phoneNumber);
+    ContactDTO getContactById(Long ownerId, Long id);
+    List<ContactDTO> getContactsByIds(Long ownerId, List<Long> ids);
+    ContactDTO createContact(Long ownerId, ContactDTO contactDTO);
+    ContactDTO updateContact(Long ownerId, Long id, ContactDTO contactDTO, Long expectedVersion);
+    ContactDTO patchContact(Long ownerId, Long id, ContactDTO patch, Long expectedVersion);
+    boolean patchContactInPlace(Long ownerId, Long id, ContactDTO patch, Long expectedVersion);
+    boolean deleteContact(Long ownerId, Long id);
 }
\ No newline at end of file
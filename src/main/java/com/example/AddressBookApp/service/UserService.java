@@ -1,13 +1,13 @@
 package com.example.AddressBookApp.service;
 
 import com.example.AddressBookApp.dto.UserDTO;
+import com.example.AddressBookApp.logging.LogSampler;
 import com.example.AddressBookApp.model.User;
 import com.example.AddressBookApp.repository.UserRepository;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 import com.example.AddressBookApp.security.JwtUtil;
+import com.example.AddressBookApp.security.PasswordHasher;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
 
@@ -17,6 +17,11 @@ import java.util.Optional;
 @Service
 public class UserService implements IUserService {
 
+    // Login lines are rate-sampled per call site so a login storm cannot flood the log
+    private static final LogSampler LOGIN_ATTEMPT_LOG = LogSampler.perSecond(10);
+    private static final LogSampler LOGIN_FAILED_LOG = LogSampler.perSecond(10);
+    private static final LogSampler LOGIN_SUCCESS_LOG = LogSampler.perSecond(10);
+
     @Autowired
     private UserRepository userRepository;
 
@@ -26,7 +31,9 @@ public class UserService implements IUserService {
     @Autowired
     private JwtUtil jwtUtil;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    // BCrypt runs on its own bounded pool, not on the request thread
+    @Autowired
+    private PasswordHasher passwordHasher;
 
     // Register User
     @Override
@@ -39,7 +46,7 @@ public class UserService implements IUserService {
         User user = new User();
         user.setUsername(userdto.getName());
         user.setEmail(userdto.getEmail());
-        user.setPassword(passwordEncoder.encode(userdto.getPassword())); // Encrypt password
+        user.setPassword(passwordHasher.encode(userdto.getPassword())); // Encrypt password
         userRepository.save(user);
 
         // Send welcome email
@@ -57,26 +64,43 @@ public class UserService implements IUserService {
     }
 
     // Authenticate User and Generate Token
+    // Not cached: a cached result keyed only by email would skip the password check
     @Override
-    @Cacheable(value = "users", key = "#email")  // Cache user authentication
     public String authenticateUser(String email, String password) {
-        log.info("Login attempt for email: {}", email);
+        if (log.isDebugEnabled() && LOGIN_ATTEMPT_LOG.sample()) {
+            log.debug("Login attempt for email: {} ({} similar skipped)", email, LOGIN_ATTEMPT_LOG.takeSkipped());
+        }
         Optional<User> userOpt = userRepository.findByEmail(email);
 
         if (userOpt.isEmpty()) {
-            log.warn("Login failed: No user found for email: {}", email);
+            if (log.isWarnEnabled() && LOGIN_FAILED_LOG.sample()) {
+                log.warn("Login failed: No user found for email: {} ({} similar skipped)",
+                        email, LOGIN_FAILED_LOG.takeSkipped());
+            }
             return "User not found!";
         }
 
         User user = userOpt.get();
 
-        if (!passwordEncoder.matches(password, user.getPassword())) {
-            log.warn("Login failed: Incorrect password for email: {}", email);
+        if (!passwordHasher.matches(password, user.getPassword())) {
+            if (log.isWarnEnabled() && LOGIN_FAILED_LOG.sample()) {
+                log.warn("Login failed: Incorrect password for email: {} ({} similar skipped)",
+                        email, LOGIN_FAILED_LOG.takeSkipped());
+            }
             return "Invalid email or password!";
         }
 
-        log.info("Login successful for user: {}", email);
-        return jwtUtil.generateToken(email);
+        // Transparently move the stored hash to the configured BCrypt cost
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHasher.encode(password));
+            userRepository.save(user);
+            log.info("Rehashed password for user: {}", email);
+        }
+
+        if (log.isInfoEnabled() && LOGIN_SUCCESS_LOG.sample()) {
+            log.info("Login successful for user: {} ({} similar skipped)", email, LOGIN_SUCCESS_LOG.takeSkipped());
+        }
+        return jwtUtil.generateToken(user.getId(), email);
     }
 
     // Forgot Password Implementation
@@ -91,7 +115,7 @@ public class UserService implements IUserService {
         }
 
         User user = userOpt.get();
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHasher.encode(newPassword));
         userRepository.save(user);
 
         // Send email notification
@@ -116,12 +140,12 @@ public class UserService implements IUserService {
         }
         User user = userOpt.get();
 
-        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+        if (!passwordHasher.matches(currentPassword, user.getPassword())) {
             log.warn("Password reset failed: Incorrect current password for email: {}", email);
             return "Current password is incorrect!";
         }
 
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHasher.encode(newPassword));
         userRepository.save(user);
 
         // Send email notification
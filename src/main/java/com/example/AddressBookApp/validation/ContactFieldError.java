@@ -0,0 +1,31 @@
+package com.example.AddressBookApp.validation;
+
+// Field-level validation failures. Each code is one bit in the mask returned by
+// ContactValidator.check, so a result is a single int however many fields fail.
+public enum ContactFieldError {
+    NAME_REQUIRED("name", "Name is required"),
+    NAME_FORMAT("name", "Name must start with a capital letter and contain only letters and spaces"),
+    PHONE_FORMAT("phoneNumber", "Phone number must be a valid 10-digit number starting with 6-9"),
+    EMAIL_FORMAT("email", "Invalid email format"),
+    ADDRESS_REQUIRED("address", "Address cannot be null or empty");
+
+    private final String field;
+    private final String message;
+
+    ContactFieldError(String field, String message) {
+        this.field = field;
+        this.message = message;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+}
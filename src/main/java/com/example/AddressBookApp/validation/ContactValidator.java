@@ -0,0 +1,186 @@
+package com.example.AddressBookApp.validation;
+
+import com.example.AddressBookApp.dto.ContactDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Shared by every contact write path: the REST endpoints, ContactService and the bulk
+// import pipeline. The rules are the ones ContactDTO declares:
+//   name    ^[A-Z][a-zA-Z\s]*$
+//   phone   ^[6-9]\d{9}$
+//   email   ^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$
+//   address not blank
+// but matched by hand-written scanners instead of regexes, so checking a contact
+// allocates nothing. Results are bit masks of ContactFieldError, and the error lists
+// for every possible mask are built once up front.
+@Component
+public class ContactValidator {
+
+    public static final int VALID = 0;
+
+    private static final ContactFieldError[] CODES = ContactFieldError.values();
+    private static final List<List<ContactFieldError>> ERRORS_BY_MASK = new ArrayList<>();
+    private static final List<List<String>> MESSAGES_BY_MASK = new ArrayList<>();
+
+    static {
+        for (int mask = 0; mask < 1 << CODES.length; mask++) {
+            List<ContactFieldError> errors = new ArrayList<>();
+            List<String> messages = new ArrayList<>();
+            for (ContactFieldError code : CODES) {
+                if ((mask & code.bit()) != 0) {
+                    errors.add(code);
+                    messages.add(code.getMessage());
+                }
+            }
+            ERRORS_BY_MASK.add(List.copyOf(errors));
+            MESSAGES_BY_MASK.add(List.copyOf(messages));
+        }
+    }
+
+    // ✅ Error mask for one contact, VALID (0) when every field passes
+    public int check(ContactDTO contactDTO) {
+        int mask = VALID;
+
+        String name = contactDTO.getName();
+        if (isBlank(name)) {
+            mask |= ContactFieldError.NAME_REQUIRED.bit();
+        } else if (!isName(name)) {
+            mask |= ContactFieldError.NAME_FORMAT.bit();
+        }
+        if (!isPhoneNumber(contactDTO.getPhoneNumber())) {
+            mask |= ContactFieldError.PHONE_FORMAT.bit();
+        }
+        if (!isEmail(contactDTO.getEmail())) {
+            mask |= ContactFieldError.EMAIL_FORMAT.bit();
+        }
+        if (isBlank(contactDTO.getAddress())) {
+            mask |= ContactFieldError.ADDRESS_REQUIRED.bit();
+        }
+        return mask;
+    }
+
+    // ✅ Error mask for a partial update: absent (null) fields are left out of the check
+    public int checkPresent(ContactDTO patch) {
+        int mask = check(patch);
+        if (patch.getName() == null) {
+            mask &= ~(ContactFieldError.NAME_REQUIRED.bit() | ContactFieldError.NAME_FORMAT.bit());
+        }
+        if (patch.getPhoneNumber() == null) {
+            mask &= ~ContactFieldError.PHONE_FORMAT.bit();
+        }
+        if (patch.getEmail() == null) {
+            mask &= ~ContactFieldError.EMAIL_FORMAT.bit();
+        }
+        if (patch.getAddress() == null) {
+            mask &= ~ContactFieldError.ADDRESS_REQUIRED.bit();
+        }
+        return mask;
+    }
+
+    // ✅ Batch check; result[i] is the error mask of contacts.get(i)
+    public int[] checkAll(List<? extends ContactDTO> contacts) {
+        int[] masks = new int[contacts.size()];
+        int i = 0;
+        for (ContactDTO contactDTO : contacts) {
+            masks[i++] = check(contactDTO);
+        }
+        return masks;
+    }
+
+    // ✅ Error messages for one contact, empty when valid (shared immutable lists)
+    public List<String> validate(ContactDTO contactDTO) {
+        return messages(check(contactDTO));
+    }
+
+    public static List<ContactFieldError> errors(int mask) {
+        return ERRORS_BY_MASK.get(mask);
+    }
+
+    public static List<String> messages(int mask) {
+        return MESSAGES_BY_MASK.get(mask);
+    }
+
+    // Same as value.trim().isEmpty()
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ^[A-Z][a-zA-Z\s]*$
+    private static boolean isName(String value) {
+        char first = value.charAt(0);
+        if (first < 'A' || first > 'Z') {
+            return false;
+        }
+        for (int i = 1; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!isAsciiLetter(c) && !isRegexWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ^[6-9]\d{9}$
+    private static boolean isPhoneNumber(String value) {
+        if (value == null || value.length() != 10) {
+            return false;
+        }
+        char first = value.charAt(0);
+        if (first < '6' || first > '9') {
+            return false;
+        }
+        for (int i = 1; i < 10; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$
+    private static boolean isEmail(String value) {
+        if (value == null) {
+            return false;
+        }
+        int at = value.indexOf('@');
+        if (at <= 0 || at == value.length() - 1) {
+            return false;
+        }
+        for (int i = 0; i < at; i++) {
+            char c = value.charAt(i);
+            if (!isAsciiLetter(c) && !isDigit(c) && c != '+' && c != '_' && c != '.' && c != '-') {
+                return false;
+            }
+        }
+        for (int i = at + 1; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!isAsciiLetter(c) && !isDigit(c) && c != '.' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // \s in java.util.regex: [ \t\n\x0B\f\r]
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
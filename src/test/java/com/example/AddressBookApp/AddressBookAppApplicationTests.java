@@ -1,13 +1,50 @@
 package com.example.AddressBookApp;
 
+import com.example.AddressBookApp.dto.ContactDTO;
+import com.example.AddressBookApp.model.Contact;
+import com.example.AddressBookApp.repository.ContactRepository;
+import com.example.AddressBookApp.service.ContactService;
+import com.example.AddressBookApp.support.OfflineStandIns;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
+@ActiveProfiles("offline")
 class AddressBookAppApplicationTests {
 
+	@Autowired
+	private ContactService contactService;
+
+	@Autowired
+	private ContactRepository contactRepository;
+
+	@DynamicPropertySource
+	static void standIns(DynamicPropertyRegistry registry) {
+		OfflineStandIns.register(registry);
+	}
+
 	@Test
 	void contextLoads() {
 	}
 
+	// Real save() against the database: a client-supplied id must not merge onto another owner's row
+	@Test
+	void createContact_WithAnotherOwnersId_CreatesNewRow() {
+		ContactDTO victim = contactService.createContact(8L, new ContactDTO(null, "Jane Doe", "9123456780", "jane@example.com", "5 Elm Road"));
+
+		ContactDTO created = contactService.createContact(7L, new ContactDTO(victim.getId(), "Mallory", "9000000001", "mallory@example.com", "Nowhere"));
+
+		assertNotEquals(victim.getId(), created.getId());
+		Contact untouched = contactRepository.findById(victim.getId()).orElseThrow();
+		assertEquals(8L, untouched.getOwnerId());
+		assertEquals("Jane Doe", untouched.getName());
+		assertEquals(7L, contactRepository.findById(created.getId()).orElseThrow().getOwnerId());
+	}
+
 }
@@ -0,0 +1,102 @@
+package com.example.AddressBookApp.cache;
+
+import com.example.AddressBookApp.dto.ContactDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheValueCodecTest {
+
+    private final CacheValueCodec codec = new CacheValueCodec(ContactCacheSchemas.all(), RedisSerializer.java(), 1024);
+
+    @Test
+    void testContact_RoundTripsWithHeader() {
+        ContactDTO contact = new ContactDTO(42L, "John Doe", "9876543210", "john@example.com", "221B Baker Street", 3L);
+
+        byte[] bytes = codec.serialize(contact);
+
+        assertEquals(CacheValueCodec.MAGIC, bytes[0]);
+        assertEquals(CacheValueCodec.FORMAT_VERSION, bytes[1]);
+        assertEquals(0, bytes[2]);
+        assertEquals(ContactCacheSchemas.CONTACT.tag(), bytes[3]);
+        assertEquals(contact, codec.deserialize(bytes));
+    }
+
+    @Test
+    void testContact_NullFieldsSurvive() {
+        ContactDTO contact = new ContactDTO(null, "Jane", null, "jane@example.com", null);
+
+        assertEquals(contact, codec.deserialize(codec.serialize(contact)));
+    }
+
+    @Test
+    void testLargeList_CompressedAndSmallerThanJson() {
+        List<ContactDTO> contacts = contacts(200);
+
+        byte[] bytes = codec.serialize(contacts);
+        byte[] json = new GenericJackson2JsonRedisSerializer().serialize(contacts);
+
+        assertEquals(CacheValueCodec.FLAG_LZ4, bytes[2]);
+        assertTrue(bytes.length * 4 < json.length, bytes.length + " vs " + json.length);
+        assertEquals(contacts, codec.deserialize(bytes));
+    }
+
+    @Test
+    void testSmallList_NotCompressed() {
+        List<ContactDTO> contacts = contacts(2);
+
+        byte[] bytes = codec.serialize(contacts);
+
+        assertEquals(0, bytes[2]);
+        assertEquals(ContactCacheSchemas.CONTACT_LIST.tag(), bytes[3]);
+        assertEquals(contacts, codec.deserialize(bytes));
+    }
+
+    @Test
+    void testUnknownType_UsesFallback() {
+        Map<String, Long> value = Map.of("count", 7L);
+
+        byte[] bytes = codec.serialize(value);
+
+        assertEquals(0, bytes[3]);
+        assertEquals(value, codec.deserialize(bytes));
+    }
+
+    @Test
+    void testUnreadableFormats_AreMisses() {
+        ContactDTO contact = new ContactDTO(1L, "John", "9876543210", "john@example.com", "Street");
+        byte[] newerVersion = codec.serialize(contact);
+        newerVersion[1] = CacheValueCodec.FORMAT_VERSION + 1;
+        byte[] unknownTag = codec.serialize(contact);
+        unknownTag[3] = (byte) 200;
+        byte[] truncated = Arrays.copyOf(codec.serialize(contact), 10);
+
+        assertNull(codec.deserialize(RedisSerializer.java().serialize(contact)));
+        assertNull(codec.deserialize(newerVersion));
+        assertNull(codec.deserialize(unknownTag));
+        assertNull(codec.deserialize(truncated));
+        assertNull(codec.deserialize(new byte[0]));
+    }
+
+    @Test
+    void testDuplicateSchemaTag_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new CacheValueCodec(
+                List.of(ContactCacheSchemas.CONTACT, ContactCacheSchemas.CONTACT), RedisSerializer.java(), 1024));
+    }
+
+    private static List<ContactDTO> contacts(int count) {
+        List<ContactDTO> contacts = new ArrayList<>(count);
+        for (long i = 0; i < count; i++) {
+            contacts.add(new ContactDTO(i, "Contact " + i, "98765" + String.format("%05d", i),
+                    "contact" + i + "@example.com", i + " Baker Street, London", i % 3));
+        }
+        return contacts;
+    }
+}
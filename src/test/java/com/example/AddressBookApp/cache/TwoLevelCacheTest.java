@@ -0,0 +1,296 @@
+package com.example.AddressBookApp.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private ConcurrentMapCacheManager remoteCacheManager;
+    private CacheInvalidationPublisher publisher;
+    private TwoLevelCacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        remoteCacheManager = new ConcurrentMapCacheManager();
+        publisher = new CacheInvalidationPublisher(redisTemplate);
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new TwoLevelCacheManager(remoteCacheManager, publisher,
+                new TwoLevelCacheSettings(100, Duration.ofMinutes(1), Duration.ofMinutes(10), 1.0), Runnable::run,
+                meterRegistry);
+    }
+
+    @Test
+    void testGet_ServedFromLocalAfterRemoteHit() {
+        remoteCacheManager.getCache("contacts").put(1L, "contact-1");
+        Cache cache = cacheManager.getCache("contacts");
+
+        assertEquals("contact-1", cache.get(1L).get());
+        // Remote copy gone, L1 still answers
+        remoteCacheManager.getCache("contacts").evict(1L);
+        assertEquals("contact-1", cache.get(1L).get());
+    }
+
+    @Test
+    void testMetrics_CountHitsPerTierAndMisses() {
+        remoteCacheManager.getCache("contacts").put(1L, "contact-1");
+        Cache cache = cacheManager.getCache("contacts");
+
+        cache.get(1L);  // L2 hit, fills L1
+        cache.get(1L);  // L1 hit
+        cache.get(2L);  // miss
+        cache.get(3L, () -> "loaded");
+
+        assertEquals(1.0, gets("hit", "local"));
+        assertEquals(1.0, gets("hit", "remote"));
+        assertEquals(2.0, gets("miss", "remote"));
+        assertEquals(1.0, meterRegistry.get("cache.puts").tag("cache", "contacts").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.load").tag("cache", "contacts").timer().count());
+        assertEquals(3, meterRegistry.get("cache.remote.get").tag("dependency", "redis").timer().count());
+    }
+
+    private double gets(String result, String tier) {
+        return meterRegistry.get("cache.gets").tags("cache", "contacts", "result", result, "tier", tier)
+                .functionCounter().count();
+    }
+
+    @Test
+    void testGetAll_LocalThenRemoteAlignedWithKeys() {
+        TwoLevelCache cache = (TwoLevelCache) cacheManager.getCache("contacts");
+        remoteCacheManager.getCache("contacts").put("1", "contact-1");
+        remoteCacheManager.getCache("contacts").put("3", "contact-3");
+        cache.get("1");  // now in L1
+
+        assertEquals(Arrays.asList("contact-1", null, "contact-3"), cache.getAll(List.of(1L, 2L, 3L)));
+        assertEquals(1.0, gets("hit", "local"));
+        assertEquals(1.0, gets("miss", "remote"));
+    }
+
+    @Test
+    void testPutAllIfAbsent_KeepsExistingEntries() {
+        TwoLevelCache cache = (TwoLevelCache) cacheManager.getCache("contacts");
+        remoteCacheManager.getCache("contacts").put("1", "newer");
+
+        cache.putAllIfAbsent(Map.of(1L, "older", 2L, "contact-2"));
+
+        assertEquals("newer", remoteCacheManager.getCache("contacts").get("1").get());
+        assertEquals("contact-2", remoteCacheManager.getCache("contacts").get("2").get());
+    }
+
+    @Test
+    void testPut_WritesBothTiersAndPublishes() {
+        Cache cache = cacheManager.getCache("contacts");
+        cache.put(1L, "contact-1");
+
+        assertEquals("contact-1", remoteCacheManager.getCache("contacts").get(1L).get());
+        verify(redisTemplate).convertAndSend(eq(CacheInvalidationPublisher.CHANNEL), contains("|E|contacts|1"));
+    }
+
+    @Test
+    void testGetWithLoader_MissLoadPublishesNothing() {
+        Cache cache = cacheManager.getCache("contacts");
+
+        assertEquals("loaded", cache.get(1L, () -> "loaded"));
+        assertEquals("loaded", remoteCacheManager.getCache("contacts").get(1L).get());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void testRemoteInvalidation_DropsLocalCopy() {
+        Cache cache = cacheManager.getCache("contacts");
+        cache.put(1L, "contact-1");
+        remoteCacheManager.getCache("contacts").evict(1L);
+
+        publisher.onMessage(message("other-node|E|contacts|1"), null);
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void testRemoteClear_OtherCacheUntouched() {
+        Cache cache = cacheManager.getCache("contacts");
+        cache.put(1L, "contact-1");
+        remoteCacheManager.getCache("contacts").clear();
+
+        publisher.onMessage(message("other-node|C|users"), null);
+        assertEquals("contact-1", cache.get(1L).get());
+
+        publisher.onMessage(message("other-node|C|contacts"), null);
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void testGetWithLoader_ConcurrentMissesShareOneLoad() throws Exception {
+        Cache cache = cacheManager.getCache("contacts");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> cache.get(1L, () -> {
+                    loads.incrementAndGet();
+                    release.await();
+                    return "contact-1";
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("contact-1", result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGetWithLoader_RefreshesEarlyNearExpiry() {
+        // A huge beta makes early refresh certain once the key has a load stamp
+        TwoLevelCacheManager eager = new TwoLevelCacheManager(remoteCacheManager, publisher,
+                new TwoLevelCacheSettings(100, Duration.ofMinutes(1), Duration.ofMinutes(10), 1e12), Runnable::run,
+                new SimpleMeterRegistry());
+        TwoLevelCache cache = (TwoLevelCache) eager.getCache("contacts");
+        AtomicInteger loads = new AtomicInteger();
+        AtomicInteger refreshes = new AtomicInteger();
+        cache.setRefreshLoader(key -> "refreshed-" + key + "-" + refreshes.incrementAndGet());
+
+        assertEquals("v1", cache.get(1L, () -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.get(1L, () -> "v" + loads.incrementAndGet()));
+        // The refresh went through the registered loader, not the caller's valueLoader
+        assertEquals(1, loads.get());
+        assertEquals(1, refreshes.get());
+        assertEquals("refreshed-1-1", cache.get(1L).get());
+    }
+
+    @Test
+    void testGetWithLoader_NoEarlyRefreshWithoutRefreshLoader() {
+        TwoLevelCacheManager eager = new TwoLevelCacheManager(remoteCacheManager, publisher,
+                new TwoLevelCacheSettings(100, Duration.ofMinutes(1), Duration.ofMinutes(10), 1e12), Runnable::run,
+                new SimpleMeterRegistry());
+        Cache cache = eager.getCache("contacts");
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, () -> "v" + loads.incrementAndGet());
+        cache.get(1L, () -> "v" + loads.incrementAndGet());
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGetWithLoader_EvictDuringLoadNotUndone() {
+        Cache cache = cacheManager.getCache("contacts");
+
+        // The row is deleted (and the key evicted) after the loader read it
+        Object loaded = cache.get(1L, () -> {
+            cache.evict(1L);
+            return "deleted-contact";
+        });
+
+        assertEquals("deleted-contact", loaded);
+        assertNull(remoteCacheManager.getCache("contacts").get(1L));
+        assertNull(cache.get(1L));
+        assertEquals(1.0, meterRegistry.get("cache.loads.stale").tag("cache", "contacts").functionCounter().count());
+    }
+
+    @Test
+    void testGetWithLoader_EvictRacingTheRemotePutIsHonoured() {
+        AtomicReference<Cache> twoLevel = new AtomicReference<>();
+        ConcurrentMapCache racingRemote = new ConcurrentMapCache("contacts") {
+            @Override
+            public void put(Object key, Object value) {
+                super.put(key, value);
+                // A delete on another thread: stamp bumped after our first check
+                twoLevel.get().evict(key);
+            }
+        };
+        CacheManager remoteManager = new CacheManager() {
+            @Override
+            public Cache getCache(String name) {
+                return racingRemote;
+            }
+
+            @Override
+            public Collection<String> getCacheNames() {
+                return List.of("contacts");
+            }
+        };
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(remoteManager, publisher,
+                new TwoLevelCacheSettings(100, Duration.ofMinutes(1), Duration.ofMinutes(10), 1.0), Runnable::run,
+                new SimpleMeterRegistry());
+        twoLevel.set(manager.getCache("contacts"));
+
+        twoLevel.get().get(1L, () -> "deleted-contact");
+
+        assertNull(racingRemote.get(1L));
+        assertNull(twoLevel.get().get(1L));
+    }
+
+    @Test
+    void testGetWithLoader_PutDuringLoadWins() {
+        Cache cache = cacheManager.getCache("contacts");
+
+        cache.get(1L, () -> {
+            cache.put(1L, "newer");
+            return "older";
+        });
+
+        assertEquals("newer", remoteCacheManager.getCache("contacts").get(1L).get());
+        assertEquals("newer", cache.get(1L).get());
+    }
+
+    @Test
+    void testGetWithLoader_RemoteInvalidationDuringLoadDropsValue() {
+        Cache cache = cacheManager.getCache("contacts");
+
+        cache.get(1L, () -> {
+            publisher.onMessage(message("other-node|E|contacts|1"), null);
+            return "older";
+        });
+
+        assertNull(remoteCacheManager.getCache("contacts").get(1L));
+    }
+
+    @Test
+    void testGetWithLoader_NullNotCached() {
+        Cache cache = cacheManager.getCache("contacts");
+        assertNull(cache.get(1L, () -> null));
+        assertNull(remoteCacheManager.getCache("contacts").get(1L));
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(CacheInvalidationPublisher.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.AddressBookApp.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A contacts table as ddl-auto=update left it after owner scoping: owner_id nullable
+class ContactOwnerBackfillTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:contact-owner;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(h2);
+        jdbcTemplate.execute("drop table if exists contacts");
+        jdbcTemplate.execute("drop table if exists user");
+        jdbcTemplate.execute("create table user (id bigint primary key, email varchar(255))");
+        jdbcTemplate.execute("create table contacts (id bigint primary key, owner_id bigint, name varchar(255))");
+        jdbcTemplate.update("insert into user values (1, 'owner@example.com')");
+        jdbcTemplate.update("insert into contacts values (1, null, 'Legacy'), (2, null, 'Legacy'), (3, 1, 'Owned')");
+    }
+
+    @Test
+    void testLegacyRowsAssigned_ThenOwnerRequired() {
+        new ContactOwnerBackfill(jdbcTemplate, 1L).afterPropertiesSet();
+
+        assertEquals(3, jdbcTemplate.queryForObject("select count(*) from contacts where owner_id = 1", Integer.class));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update("insert into contacts values (4, null, 'New')"));
+        // Second start: nothing left to do
+        assertEquals(0, new ContactOwnerBackfill(jdbcTemplate, 1L).backfill());
+        assertFalse(new ContactOwnerBackfill(jdbcTemplate, 1L).requireOwner());
+    }
+
+    @Test
+    void testNoOwnerConfigured_RowsAndColumnLeftAlone() {
+        assertThrows(IllegalStateException.class, () -> new ContactOwnerBackfill(jdbcTemplate, null).backfill());
+
+        new ContactOwnerBackfill(jdbcTemplate, null).afterPropertiesSet();
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from contacts where owner_id is null", Integer.class));
+        jdbcTemplate.update("insert into contacts values (4, null, 'New')");
+    }
+
+    @Test
+    void testUnknownOwner_Rejected() {
+        assertThrows(IllegalStateException.class, () -> new ContactOwnerBackfill(jdbcTemplate, 99L).backfill());
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from contacts where owner_id is null", Integer.class));
+    }
+
+    @Test
+    void testNothingToBackfill_StillRequiresOwner() {
+        jdbcTemplate.update("delete from contacts where owner_id is null");
+
+        assertEquals(0, new ContactOwnerBackfill(jdbcTemplate, null).backfill());
+        assertTrue(new ContactOwnerBackfill(jdbcTemplate, null).requireOwner());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.AddressBookApp.config;
+
+import com.example.AddressBookApp.model.Contact;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.PooledOptimizer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// contacts_seq as Hibernate emulates it on MySQL, read through Hibernate's own pooled optimizer
+class ContactSequenceInitializerTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:contact-sequence;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(h2);
+        jdbcTemplate.execute("drop table if exists contacts");
+        jdbcTemplate.execute("drop table if exists contacts_seq");
+        jdbcTemplate.execute("create table contacts (id bigint primary key, name varchar(255))");
+        jdbcTemplate.execute("create table contacts_seq (next_val bigint)");
+        jdbcTemplate.update("insert into contacts_seq values (1)");
+    }
+
+    @Test
+    void testInsertsAfterExistingIds_DoNotCollide() {
+        // Rows written while contacts were still IDENTITY-keyed
+        for (long id = 1; id <= 120; id++) {
+            jdbcTemplate.update("insert into contacts (id, name) values (?, ?)", id, "Legacy " + id);
+        }
+
+        new ContactSequenceInitializer(jdbcTemplate).align();
+
+        PooledOptimizer optimizer = new PooledOptimizer(Long.class, Contact.ID_ALLOCATION_SIZE);
+        AccessCallback sequenceTable = new TableAccess();
+        long first = (Long) optimizer.generate(sequenceTable);
+        jdbcTemplate.update("insert into contacts (id, name) values (?, ?)", first, "New");
+        for (int i = 0; i < 2 * Contact.ID_ALLOCATION_SIZE; i++) {
+            jdbcTemplate.update("insert into contacts (id, name) values (?, ?)", optimizer.generate(sequenceTable), "New");
+        }
+
+        assertEquals(121L, first);
+        assertEquals(221, jdbcTemplate.queryForObject("select count(*) from contacts", Integer.class));
+    }
+
+    @Test
+    void testAlign_NeverMovesSequenceBackwards() {
+        jdbcTemplate.update("update contacts_seq set next_val = 500");
+        jdbcTemplate.update("insert into contacts (id, name) values (10, 'Legacy')");
+
+        new ContactSequenceInitializer(jdbcTemplate).align();
+
+        assertEquals(500L, jdbcTemplate.queryForObject("select next_val from contacts_seq", Long.class));
+    }
+
+    @Test
+    void testAlign_EmptyTableStartsAtOne() {
+        new ContactSequenceInitializer(jdbcTemplate).align();
+
+        PooledOptimizer optimizer = new PooledOptimizer(Long.class, Contact.ID_ALLOCATION_SIZE);
+        assertEquals(1L, optimizer.generate(new TableAccess()));
+    }
+
+    // Read next_val, then advance it by one block, as Hibernate's TableStructure does
+    private class TableAccess implements AccessCallback {
+
+        @Override
+        public IntegralDataTypeHolder getNextValue() {
+            long value = jdbcTemplate.queryForObject("select next_val from contacts_seq", Long.class);
+            jdbcTemplate.update("update contacts_seq set next_val = ?", value + Contact.ID_ALLOCATION_SIZE);
+            IntegralDataTypeHolder holder = IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class);
+            holder.initialize(value);
+            return holder;
+        }
+
+        @Override
+        public String getTenantIdentifier() {
+            return null;
+        }
+    }
+}
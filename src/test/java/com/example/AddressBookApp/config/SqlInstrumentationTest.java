@@ -0,0 +1,120 @@
+package com.example.AddressBookApp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlInstrumentationTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SqlInstrumentation instrumentation;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        instrumentation = new SqlInstrumentation(meterRegistry, true, 1.0, Duration.ofSeconds(10), 3);
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-instrumentation;DB_CLOSE_DELAY=-1");
+        dataSource = InstrumentedDataSource.wrap(h2, instrumentation);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists t (id bigint primary key)");
+            statement.execute("merge into t key (id) values (1)");
+        }
+    }
+
+    @Test
+    void testStatements_TimedByType() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("select id from t where id = ?")) {
+            select.setLong(1, 1L);
+            select.executeQuery().close();
+        }
+
+        assertEquals(1, meterRegistry.get("sql.statement").tag("type", "select").timer().count());
+        assertEquals(0, meterRegistry.get("sql.slow").counter().count());
+    }
+
+    @Test
+    void testSampledRequest_FlagsRepeatedStatement() throws Exception {
+        SqlInstrumentation.RequestStats stats = instrumentation.beginRequest("GET", "/api/contacts");
+        try (Connection connection = dataSource.getConnection()) {
+            for (long id = 0; id < 3; id++) {
+                try (PreparedStatement select = connection.prepareStatement("select id from t where id = ?")) {
+                    select.setLong(1, id);
+                    select.executeQuery().close();
+                }
+            }
+        }
+        instrumentation.endRequest(stats);
+
+        assertEquals(3, stats.statements);
+        assertEquals(1, meterRegistry.get("sql.repeated").counter().count());
+        assertEquals(3.0, meterRegistry.get("sql.request.statements").summary().totalAmount());
+    }
+
+    @Test
+    void testSlowStatement_Counted() {
+        SqlInstrumentation strict = new SqlInstrumentation(meterRegistry, true, 0.0, Duration.ZERO, 3);
+        strict.onStatement("update t set id = ?", 1);
+
+        assertEquals(1, meterRegistry.get("sql.slow").counter().count());
+    }
+
+    @Test
+    void testWrappedPool_ClosedWithContext() throws Exception {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:sql-instrumentation-pool");
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(SqlInstrumentation.class, () -> instrumentation);
+            context.getBeanFactory().addBeanPostProcessor(
+                    SqlInstrumentationConfig.sqlInstrumentationPostProcessor(context.getBeanFactory().getBeanProvider(SqlInstrumentation.class)));
+            // As Spring Boot's @Bean DataSource: destroy method inferred from the bean
+            context.registerBean("dataSource", DataSource.class, () -> pool,
+                    definition -> definition.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+            context.refresh();
+
+            DataSource wrapped = context.getBean(DataSource.class);
+            assertNotSame(pool, wrapped);
+            try (Connection connection = wrapped.getConnection()) {
+                assertTrue(connection.isValid(1));
+            }
+            assertFalse(pool.isClosed());
+        }
+        assertTrue(pool.isClosed());
+    }
+
+    @Test
+    void testWrappedPool_CloseableThroughProxy() throws Exception {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:sql-instrumentation-pool");
+
+        DataSource wrapped = InstrumentedDataSource.wrap(pool, instrumentation);
+        assertInstanceOf(AutoCloseable.class, wrapped);
+        ((AutoCloseable) wrapped).close();
+
+        assertTrue(pool.isClosed());
+        // Plain DataSources are not made to look closeable
+        assertFalse(dataSource instanceof AutoCloseable);
+    }
+
+    @Test
+    void testTypeIndex() {
+        assertEquals(0, SqlInstrumentation.typeIndex("  SELECT 1"));
+        assertEquals(3, SqlInstrumentation.typeIndex("delete from t"));
+        assertEquals(4, SqlInstrumentation.typeIndex("merge into t"));
+        assertEquals(4, SqlInstrumentation.typeIndex(null));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.AddressBookApp.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreadingModeTest {
+
+    @Test
+    void testPlatformMode_NamedDaemonThreads() {
+        ThreadingMode mode = new ThreadingMode(false);
+        Thread thread = mode.ioThreadFactory("io-").newThread(() -> { });
+
+        assertFalse(mode.isVirtual());
+        assertEquals("io-1", thread.getName());
+        assertTrue(thread.isDaemon());
+    }
+
+    @Test
+    void testVirtualMode_OnlyWhenRuntimeSupportsIt() {
+        ThreadingMode mode = new ThreadingMode(true);
+        assertEquals(ThreadingMode.isVirtualThreadSupported(), mode.isVirtual());
+
+        Thread thread = mode.ioThreadFactory("io-").newThread(() -> { });
+        assertEquals("io-1", thread.getName());
+    }
+}
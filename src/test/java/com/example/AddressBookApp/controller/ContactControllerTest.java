@@ -0,0 +1,89 @@
+package com.example.AddressBookApp.controller;
+
+import com.example.AddressBookApp.dto.ContactDTO;
+import com.example.AddressBookApp.security.JwtPrincipal;
+import com.example.AddressBookApp.service.ContactExportService;
+import com.example.AddressBookApp.service.ContactImportService;
+import com.example.AddressBookApp.service.ContactService;
+import com.example.AddressBookApp.validation.ContactValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContactControllerTest {
+
+    private static final JwtPrincipal PRINCIPAL = new JwtPrincipal(7L, "owner@example.com", Instant.MAX);
+
+    @Mock
+    private ContactService contactService;
+
+    @Mock
+    private ContactExportService contactExportService;
+
+    @Mock
+    private ContactImportService contactImportService;
+
+    @Mock
+    private ContactValidator contactValidator;
+
+    private ContactController controller;
+    private ContactDTO contactDTO;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ContactController(contactService, contactExportService, contactImportService, contactValidator);
+        contactDTO = new ContactDTO(null, "John Doe", "9876543210", "john@example.com", "123 Street");
+    }
+
+    // ✅ Input the service rejects is a 400 on every write path, never a 404 or 500
+    @Test
+    void testCreateContact_RejectedByServiceIsBadRequest() {
+        when(contactValidator.validate(contactDTO)).thenReturn(List.of());
+        when(contactService.createContact(7L, contactDTO)).thenThrow(new IllegalArgumentException("Invalid phone number"));
+
+        assertBadRequest(controller.createContact(PRINCIPAL, contactDTO));
+    }
+
+    @Test
+    void testUpdateContact_RejectedByServiceIsBadRequest() {
+        when(contactValidator.validate(contactDTO)).thenReturn(List.of());
+        when(contactService.updateContact(7L, 1L, contactDTO, null)).thenThrow(new IllegalArgumentException("Invalid phone number"));
+
+        assertBadRequest(controller.updateContact(PRINCIPAL, 1L, contactDTO, null));
+    }
+
+    @Test
+    void testPatchContact_RejectedByServiceIsBadRequest() {
+        when(contactValidator.checkPresent(contactDTO)).thenReturn(ContactValidator.VALID);
+        when(contactService.patchContact(7L, 1L, contactDTO, null)).thenThrow(new IllegalArgumentException("Invalid phone number"));
+
+        assertBadRequest(controller.patchContact(PRINCIPAL, 1L, contactDTO, null));
+    }
+
+    @Test
+    void testPatchContactInPlace_RejectedByServiceIsBadRequest() {
+        when(contactValidator.checkPresent(contactDTO)).thenReturn(ContactValidator.VALID);
+        when(contactService.patchContactInPlace(eq(7L), eq(1L), eq(contactDTO), any()))
+                .thenThrow(new IllegalArgumentException("Invalid phone number"));
+
+        assertBadRequest(controller.patchContact(PRINCIPAL, 1L, contactDTO, "\"3\""));
+    }
+
+    private static void assertBadRequest(ResponseEntity<Object> response) {
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(Map.of("error", "Invalid phone number"), response.getBody());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.AddressBookApp.controller;
+
+import com.example.AddressBookApp.support.OfflineStandIns;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Requests arrive from 127.0.0.1, a trusted proxy, the way they do from the load balancer
+@ActiveProfiles("offline")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "security.login-throttle.ip.per-minute=3",
+        "security.login-throttle.ip.burst=3"
+})
+class UserControllerForwardedHeadersTest {
+
+    @DynamicPropertySource
+    static void offlineStandIns(DynamicPropertyRegistry registry) {
+        OfflineStandIns.register(registry);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void testLoginThrottle_KeysOnForwardedClientIp() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertNotEquals(429, login("203.0.113.5", "first" + i + "@example.com"));
+        }
+        assertEquals(429, login("203.0.113.5", "first3@example.com"));
+
+        // Another client behind the same balancer keeps its own budget
+        assertNotEquals(429, login("198.51.100.7", "second@example.com"));
+        assertNotEquals(429, login("192.0.2.10, 10.0.0.2", "third@example.com"));
+    }
+
+    private int login(String forwardedFor, String email) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", forwardedFor)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"secret123\"}"))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.AddressBookApp.loadtest;
+
+import com.example.AddressBookApp.config.ThreadingMode;
+import com.example.AddressBookApp.support.OfflineStandIns;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Offline end-to-end load test: boots the whole application on H2 (MySQL mode),
+// jedis-mock and GreenMail, then drives the auth and contact endpoints over real HTTP.
+// Each endpoint gets its own phase; throughput and p50/p95/p99 latency are printed and
+// written to target/loadtest-report-<platform|virtual>.json. -Dloadtest.virtual-threads=true
+// runs it with spring.threads.virtual.enabled; that needs a Java 21 runtime and is skipped
+// on older ones.
+//   mvn -Pload-test test [-Dloadtest.concurrency=32] [-Dloadtest.requests=2000]
+@Tag("load")
+@DisabledIf(value = "virtualThreadsUnavailable", disabledReason = "virtual threads need a Java 21+ runtime")
+@ActiveProfiles("offline")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // The throttles would otherwise turn most auth traffic from one client IP into 429s
+        "security.login-throttle.ip.per-minute=1000000",
+        "security.login-throttle.ip.burst=1000000",
+        "security.login-throttle.account.per-minute=1000000",
+        "security.login-throttle.account.burst=1000000"
+})
+class AddressBookLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 16);
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 400);
+    private static final int AUTH_REQUESTS = Integer.getInteger("loadtest.auth-requests", Math.max(CONCURRENCY, REQUESTS / 4));
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("loadtest.virtual-threads");
+    private static final String MODE = VIRTUAL_THREADS ? "virtual" : "platform";
+    private static final String PASSWORD = "secret123";
+    private static final Path REPORT = Path.of("target", "loadtest-report-" + MODE + ".json");
+
+    @DynamicPropertySource
+    static void standIns(DynamicPropertyRegistry registry) {
+        OfflineStandIns.register(registry);
+        registry.add("spring.threads.virtual.enabled", () -> VIRTUAL_THREADS);
+    }
+
+    static boolean virtualThreadsUnavailable() {
+        return VIRTUAL_THREADS && !ThreadingMode.isVirtualThreadSupported();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void driveEndpoints() throws Exception {
+        List<EndpointStats> report = new ArrayList<>();
+        AtomicInteger sequence = new AtomicInteger();
+
+        // Auth: every registration also enqueues a welcome mail for the SMTP stand-in
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < AUTH_REQUESTS; i++) {
+            emails.add("load" + i + "@example.com");
+        }
+        report.add(run("POST /api/auth/register", AUTH_REQUESTS, i -> post("/api/auth/register", null,
+                Map.of("name", "Load User", "email", emails.get(i), "password", PASSWORD))));
+        report.add(run("POST /api/auth/login", AUTH_REQUESTS, i -> post("/api/auth/login", null,
+                Map.of("email", emails.get(i), "password", PASSWORD))));
+
+        // One owner per worker so contacts are spread across tenants
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            HttpResponse<String> login = post("/api/auth/login", null, Map.of("email", emails.get(i % emails.size()), "password", PASSWORD));
+            assertEquals(200, login.statusCode(), login.body());
+            tokens.add(objectMapper.readTree(login.body()).get("token").asText());
+        }
+
+        ConcurrentLinkedQueue<long[]> created = new ConcurrentLinkedQueue<>();
+        report.add(run("POST /api/contacts/add", REQUESTS, i -> {
+            int owner = i % tokens.size();
+            int n = sequence.incrementAndGet();
+            HttpResponse<String> response = post("/api/contacts/add", tokens.get(owner), contact("Contact", n));
+            if (response.statusCode() == 200) {
+                created.add(new long[]{owner, objectMapper.readTree(response.body()).get("id").asLong(), n});
+            }
+            return response;
+        }));
+        List<long[]> contacts = new ArrayList<>(created);
+        assertFalse(contacts.isEmpty(), "no contacts were created");
+
+        report.add(run("GET /api/contacts", REQUESTS, i ->
+                get("/api/contacts?size=50", tokens.get(i % tokens.size()))));
+        report.add(run("GET /api/contacts/{id}", REQUESTS, i -> {
+            long[] contact = contacts.get(i % contacts.size());
+            return get("/api/contacts/" + contact[1], tokens.get((int) contact[0]));
+        }));
+        report.add(run("GET /api/contacts/search", REQUESTS, i ->
+                get("/api/contacts/search?q=" + encode("cont " + (i % 10)), tokens.get(i % tokens.size()))));
+        report.add(run("GET /api/contacts/lookup", REQUESTS, i -> {
+            long[] contact = contacts.get(i % contacts.size());
+            return get("/api/contacts/lookup?phone=" + encode("+91 " + phone((int) contact[2])), tokens.get((int) contact[0]));
+        }));
+        report.add(run("PUT /api/contacts/update/{id}", REQUESTS, i -> {
+            long[] contact = contacts.get(i % contacts.size());
+            return put("/api/contacts/update/" + contact[1], tokens.get((int) contact[0]), contact("Updated", (int) contact[2]));
+        }));
+
+        print(report);
+        write(report);
+
+        for (EndpointStats stats : report) {
+            assertTrue(stats.count(200, 299) > 0, stats.endpoint() + " never succeeded: " + stats.statusCounts());
+            assertEquals(0, stats.count(500, 502) + stats.count(504, 599),
+                    stats.endpoint() + " returned server errors: " + stats.statusCounts());
+        }
+    }
+
+    private interface Call {
+        HttpResponse<String> send(int index) throws Exception;
+    }
+
+    private EndpointStats run(String endpoint, int requests, Call call) throws Exception {
+        EndpointStats stats = new EndpointStats(endpoint, requests);
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < CONCURRENCY; w++) {
+                futures.add(workers.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        long sent = System.nanoTime();
+                        int status;
+                        try {
+                            status = call.send(i).statusCode();
+                        } catch (IOException e) {
+                            status = 0;
+                        }
+                        stats.record(status, System.nanoTime() - sent);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        stats.finish(System.nanoTime() - start);
+        return stats;
+    }
+
+    private HttpResponse<String> get(String path, String token) throws Exception {
+        return client.send(request(path, token).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String token, Object body) throws Exception {
+        return client.send(request(path, token)
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> put(String path, String token, Object body) throws Exception {
+        return client.send(request(path, token)
+                .PUT(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private static Map<String, String> contact(String name, int n) {
+        return Map.of("name", name + " " + letters(n), "phoneNumber", phone(n),
+                "email", "contact" + n + "@example.com", "address", n + " Baker Street");
+    }
+
+    // Valid 10-digit number starting with 9, unique per n
+    private static String phone(int n) {
+        return "9" + String.format("%09d", n);
+    }
+
+    // Names may only contain letters
+    private static String letters(int n) {
+        StringBuilder out = new StringBuilder();
+        do {
+            out.append((char) ('a' + n % 26));
+            n /= 26;
+        } while (n > 0);
+        return out.toString();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void print(List<EndpointStats> report) {
+        System.out.printf("%nLoad test: threads=%s concurrency=%d java=%d%n", MODE, CONCURRENCY, Runtime.version().feature());
+        System.out.printf("%-32s %7s %10s %9s %9s %9s  %s%n", "endpoint", "reqs", "req/s", "p50 ms", "p95 ms", "p99 ms", "status");
+        for (EndpointStats stats : report) {
+            System.out.printf("%-32s %7d %10.1f %9.2f %9.2f %9.2f  %s%n", stats.endpoint(), stats.count(), stats.throughput(),
+                    stats.percentileMillis(50), stats.percentileMillis(95), stats.percentileMillis(99), stats.statusCounts());
+        }
+    }
+
+    private void write(List<EndpointStats> report) throws IOException {
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (EndpointStats stats : report) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("endpoint", stats.endpoint());
+            entry.put("requests", stats.count());
+            entry.put("throughput", stats.throughput());
+            entry.put("p50Ms", stats.percentileMillis(50));
+            entry.put("p95Ms", stats.percentileMillis(95));
+            entry.put("p99Ms", stats.percentileMillis(99));
+            entry.put("status", stats.statusCounts());
+            endpoints.add(entry);
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("threads", MODE);
+        document.put("java", Runtime.version().feature());
+        document.put("concurrency", CONCURRENCY);
+        document.put("endpoints", endpoints);
+        Files.createDirectories(REPORT.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORT.toFile(), document);
+    }
+}
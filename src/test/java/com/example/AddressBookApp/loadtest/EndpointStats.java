@@ -0,0 +1,71 @@
+package com.example.AddressBookApp.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Latencies and status codes recorded for one endpoint during one load phase
+class EndpointStats {
+
+    private final String endpoint;
+    private final long[] latenciesNanos;
+    private final AtomicInteger recorded = new AtomicInteger();
+    private final Map<Integer, AtomicLong> statusCounts = new ConcurrentHashMap<>();
+    private long elapsedNanos;
+
+    EndpointStats(String endpoint, int expectedRequests) {
+        this.endpoint = endpoint;
+        this.latenciesNanos = new long[expectedRequests];
+    }
+
+    void record(int status, long latencyNanos) {
+        int slot = recorded.getAndIncrement();
+        if (slot < latenciesNanos.length) {
+            latenciesNanos[slot] = latencyNanos;
+        }
+        statusCounts.computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+        Arrays.sort(latenciesNanos, 0, count());
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    int count() {
+        return Math.min(recorded.get(), latenciesNanos.length);
+    }
+
+    long count(int fromStatus, int toStatus) {
+        return statusCounts.entrySet().stream()
+                .filter(e -> e.getKey() >= fromStatus && e.getKey() <= toStatus)
+                .mapToLong(e -> e.getValue().get())
+                .sum();
+    }
+
+    double throughput() {
+        return elapsedNanos == 0 ? 0 : count() / (elapsedNanos / 1e9);
+    }
+
+    // Nearest-rank percentile in milliseconds
+    double percentileMillis(double percentile) {
+        int n = count();
+        if (n == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * n);
+        return latenciesNanos[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    Map<Integer, Long> statusCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statusCounts.forEach((status, count) -> counts.put(status, count.get()));
+        return counts;
+    }
+}
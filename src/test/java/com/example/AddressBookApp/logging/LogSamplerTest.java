@@ -0,0 +1,35 @@
+package com.example.AddressBookApp.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSamplerTest {
+
+    @Test
+    void testSample_LetsThroughLimitPerWindowAndCountsTheRest() {
+        LogSampler sampler = LogSampler.perSecond(3);
+
+        int emitted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (sampler.sample()) {
+                emitted++;
+            }
+        }
+
+        assertEquals(3, emitted);
+        assertEquals(7, sampler.takeSkipped());
+        assertEquals(0, sampler.takeSkipped());
+    }
+
+    @Test
+    void testSample_NewWindowResetsBudget() throws InterruptedException {
+        LogSampler sampler = LogSampler.perSecond(1);
+        assertTrue(sampler.sample());
+        assertFalse(sampler.sample());
+
+        Thread.sleep(1100);
+
+        assertTrue(sampler.sample());
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.AddressBookApp.search;
+
+import com.example.AddressBookApp.cache.CacheInvalidationPublisher;
+import com.example.AddressBookApp.model.Contact;
+import com.example.AddressBookApp.repository.ContactRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContactIndexSyncTest {
+
+    private static final Long OWNER_ID = 7L;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ContactRepository contactRepository;
+
+    @Mock
+    private ObjectProvider<ContactRepository> contactRepositoryProvider;
+
+    private CacheInvalidationPublisher publisher;
+    private ContactSearchIndex searchIndex;
+    private ContactIndexSync indexSync;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new CacheInvalidationPublisher(redisTemplate);
+        searchIndex = new ContactSearchIndex();
+        indexSync = new ContactIndexSync(publisher, contactRepositoryProvider, searchIndex);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testRemoteChange_ReindexesFromDatabase() {
+        searchIndex.index(contact(1L, "John Doe"));
+        searchIndex.index(contact(2L, "Jane Doe"));
+        when(contactRepositoryProvider.getObject()).thenReturn(contactRepository);
+        // Contact 1 was renamed on the other node, contact 2 deleted there
+        when(contactRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(contact(1L, "John Smith")));
+
+        publisher.onMessage(new DefaultMessage(new byte[0], "other-node|R|1,2".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertEquals(List.of(), searchIndex.search(OWNER_ID, "doe", 10));
+        assertEquals(List.of(1L), searchIndex.search(OWNER_ID, "smith", 10));
+        assertEquals(1, searchIndex.size());
+    }
+
+    @Test
+    void testChanged_PublishedOnceAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        indexSync.changed(1L);
+        indexSync.changed(2L);
+        indexSync.changed(1L);
+        verifyNoInteractions(redisTemplate);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        synchronizations.get(0).afterCommit();
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CacheInvalidationPublisher.CHANNEL), message.capture());
+        assertTrue(message.getValue().endsWith("|R|1,2"), message.getValue());
+        assertNull(TransactionSynchronizationManager.getResource(indexSync));
+    }
+
+    @Test
+    void testChanged_RolledBackNotPublished() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        indexSync.changed(1L);
+        TransactionSynchronizationManager.getSynchronizations().get(0)
+                .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void testPublishContactsChanged_SplitsLargeBatches() {
+        List<Long> ids = LongStream.rangeClosed(1, 1200).boxed().toList();
+
+        publisher.publishContactsChanged(ids);
+
+        ArgumentCaptor<String> messages = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(3)).convertAndSend(eq(CacheInvalidationPublisher.CHANNEL), messages.capture());
+        assertEquals(500, messages.getAllValues().get(0).split("\\|")[2].split(",").length);
+        assertTrue(messages.getAllValues().get(2).endsWith(",1200"));
+    }
+
+    @Test
+    void testOwnMessages_Ignored() {
+        publisher.publishContactsChanged(List.of(1L));
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CacheInvalidationPublisher.CHANNEL), message.capture());
+
+        publisher.onMessage(new DefaultMessage(new byte[0], message.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+        verifyNoInteractions(contactRepositoryProvider);
+    }
+
+    private static Contact contact(Long id, String name) {
+        Contact contact = new Contact(id, name, "9876543210", "contact" + id + "@example.com", "Street");
+        contact.setOwnerId(OWNER_ID);
+        return contact;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.AddressBookApp.search;
+
+import com.example.AddressBookApp.model.Contact;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactSearchIndexTest {
+
+    private static final Long OWNER_ID = 7L;
+
+    private ContactSearchIndex index;
+
+    private static Contact owned(Contact contact) {
+        contact.setOwnerId(OWNER_ID);
+        return contact;
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new ContactSearchIndex();
+        index.index(owned(new Contact(1L, "John Doe", "9876543210", "john.doe@example.com", "12 Baker Street, London")));
+        index.index(owned(new Contact(2L, "Jane Doe", "9123456780", "jane@mail.org", "5 Elm Road, Leeds")));
+        index.index(owned(new Contact(3L, "Johnny Cash", "9000000000", "cash@example.com", "Nashville")));
+    }
+
+    @Test
+    void testSearch_PrefixAcrossFields() {
+        assertEquals(List.of(1L, 3L), index.search(OWNER_ID, "joh", 10));
+        assertEquals(List.of(1L, 2L), index.search(OWNER_ID, "Doe", 10));
+        assertEquals(List.of(1L, 3L), index.search(OWNER_ID, "example", 10));
+        assertEquals(List.of(2L), index.search(OWNER_ID, "leed", 10));
+    }
+
+    @Test
+    void testSearch_AllTokensMustMatch() {
+        assertEquals(List.of(1L), index.search(OWNER_ID, "john lond", 10));
+        assertEquals(List.of(), index.search(OWNER_ID, "jane london", 10));
+        assertEquals(List.of(1L), index.search(OWNER_ID, "doe", 1));
+    }
+
+    @Test
+    void testSearch_ShortTokensMatchWholeTermsOnly() {
+        index.index(owned(new Contact(4L, "A B", "9000000001", "a@b.c", "X")));
+        assertEquals(List.of(4L), index.search(OWNER_ID, "a", 10));
+    }
+
+    @Test
+    void testIndex_UpdateAndRemove() {
+        index.index(owned(new Contact(2L, "Jane Smith", "9123456780", "jane@mail.org", "5 Elm Road, Leeds")));
+        assertEquals(List.of(1L), index.search(OWNER_ID, "doe", 10));
+        assertEquals(List.of(2L), index.search(OWNER_ID, "smi", 10));
+
+        index.remove(1L);
+        assertEquals(List.of(), index.search(OWNER_ID, "doe", 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testFind_CappedTokenCheckedExactlyAgainstCandidates() {
+        indexManyTermsWithPrefix("zq", ContactSearchIndex.MAX_PREFIX_TERMS + 10);
+        // Sorts after every "zq0000..." term, so prefix expansion never reaches it
+        index.index(owned(new Contact(2000L, "Zqzz Doe", "9000000003", "zz@example.com", "Perth")));
+
+        ContactSearchIndex.Hits hits = index.find(OWNER_ID, "zq perth", 10);
+
+        assertEquals(List.of(2000L), hits.ids());
+        assertFalse(hits.truncated());
+    }
+
+    @Test
+    void testFind_AllTokensCapped_FlagsTruncation() {
+        indexManyTermsWithPrefix("zq", ContactSearchIndex.MAX_PREFIX_TERMS + 10);
+
+        ContactSearchIndex.Hits hits = index.find(OWNER_ID, "zq", 1000);
+
+        assertTrue(hits.truncated());
+        assertEquals(ContactSearchIndex.MAX_PREFIX_TERMS, hits.ids().size());
+        assertFalse(index.find(OWNER_ID, "doe", 10).truncated());
+    }
+
+    @Test
+    void testFind_CappedTokenOverCandidateBudget_FlagsTruncation() {
+        indexManyTermsWithPrefix("zq", ContactSearchIndex.MAX_PREFIX_TERMS + 10);
+        // None of these has a "zq..." term
+        for (long id = 0; id <= ContactSearchIndex.MAX_CAPPED_CANDIDATES; id++) {
+            index.index(owned(new Contact(5000L + id, "Plain Person", "9000000000", "plain@x.io", "Elsewhere")));
+        }
+
+        ContactSearchIndex.Hits hits = index.find(OWNER_ID, "zq elsewhere", 10);
+
+        assertEquals(List.of(), hits.ids());
+        assertTrue(hits.truncated());
+    }
+
+    @Test
+    void testSearch_ScopedToOwner() {
+        Contact other = new Contact(10L, "John Other", "9000000002", "other@example.com", "London");
+        other.setOwnerId(8L);
+        index.index(other);
+
+        assertEquals(List.of(1L, 3L), index.search(OWNER_ID, "john", 10));
+        assertEquals(List.of(10L), index.search(8L, "john", 10));
+        assertEquals(List.of(), index.search(9L, "john", 10));
+    }
+
+    // One contact per distinct term, so the prefix expands to one term per contact
+    private void indexManyTermsWithPrefix(String prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            String term = prefix + String.format("%04d", i);
+            index.index(owned(new Contact(1000L + i, term, "9000000000", term + "@x.io", "Nowhere")));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.AddressBookApp.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtAuthenticationFilterTest {
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil("test-secret");
+        filter = new JwtAuthenticationFilter(jwtUtil, 100, Duration.ofMinutes(5));
+    }
+
+    private MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/contacts");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+
+    @Test
+    void testValidToken_PrincipalFromClaims() throws Exception {
+        String token = jwtUtil.generateToken(7L, "john@example.com");
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("Bearer " + token), response, chain);
+
+        assertEquals(200, response.getStatus());
+        HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+        assertEquals("john@example.com", forwarded.getUserPrincipal().getName());
+        JwtPrincipal principal = (JwtPrincipal) forwarded.getAttribute(JwtAuthenticationFilter.PRINCIPAL_ATTRIBUTE);
+        assertEquals("john@example.com", principal.email());
+        assertEquals(7L, principal.userId());
+    }
+
+    @Test
+    void testLegacyEmailSubject_Rejected() {
+        String legacy = JWT.create()
+                .withSubject("john@example.com")
+                .withIssuer("MyApp")
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256("test-secret"));
+        assertNull(filter.authenticate(legacy));
+    }
+
+    @Test
+    void testVerifiedToken_ServedFromCache() {
+        String token = jwtUtil.generateToken(7L, "john@example.com");
+        JwtPrincipal first = filter.authenticate(token);
+        assertSame(first, filter.authenticate(token));
+    }
+
+    @Test
+    void testMissingOrInvalidToken_Unauthorized() throws Exception {
+        MockHttpServletResponse missing = new MockHttpServletResponse();
+        filter.doFilter(request(null), missing, new MockFilterChain());
+        assertEquals(401, missing.getStatus());
+
+        String forged = new JwtUtil("other-secret").generateToken(7L, "john@example.com");
+        MockHttpServletResponse invalid = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("Bearer " + forged), invalid, chain);
+        assertEquals(401, invalid.getStatus());
+        assertNull(chain.getRequest());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.AddressBookApp.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    @Test
+    void testRateLimiter_AllowsBurstThenRejects() {
+        RateLimiter limiter = new RateLimiter(60, 3, 100, Duration.ofMinutes(1));
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+        // Buckets are independent per key
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void testRateLimiter_ConcurrentCallersNeverExceedBurst() throws Exception {
+        RateLimiter limiter = new RateLimiter(1, 10, 100, Duration.ofMinutes(1));
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 200; i++) {
+            pool.execute(() -> {
+                if (limiter.tryAcquire("victim@example.com") == 0) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(10, allowed.get());
+    }
+
+    @Test
+    void testCheckLoginAttempt_AccountKeyIsCaseInsensitive() {
+        LoginThrottle throttle = new LoginThrottle(100, 100, 1, 2, 100, Duration.ofMinutes(1));
+
+        assertEquals(0, throttle.checkLoginAttempt("John@Example.com", "10.0.0.1"));
+        assertEquals(0, throttle.checkLoginAttempt("john@example.com ", "10.0.0.2"));
+        assertTrue(throttle.checkLoginAttempt("JOHN@example.com", "10.0.0.3") >= 1);
+    }
+
+    @Test
+    void testCheckLoginAttempt_PerIpLimit() {
+        LoginThrottle throttle = new LoginThrottle(1, 2, 100, 100, 100, Duration.ofMinutes(1));
+
+        assertEquals(0, throttle.checkLoginAttempt("a@example.com", "10.0.0.1"));
+        assertEquals(0, throttle.checkLoginAttempt("b@example.com", "10.0.0.1"));
+        assertTrue(throttle.checkLoginAttempt("c@example.com", "10.0.0.1") > 0);
+        assertEquals(0, throttle.checkLoginAttempt("c@example.com", "10.0.0.2"));
+    }
+}
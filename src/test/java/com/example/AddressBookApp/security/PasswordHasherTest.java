@@ -0,0 +1,42 @@
+package com.example.AddressBookApp.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    @Test
+    void testEncodeAndMatches_RecordsHistograms() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHasher hasher = new PasswordHasher(meterRegistry, 4, 1, 4, Duration.ofSeconds(5));
+
+        String hash = hasher.encode("password123");
+        assertTrue(hasher.matches("password123", hash));
+        assertFalse(hasher.matches("wrongPassword", hash));
+        assertEquals(2, meterRegistry.get("password.hash.time").tag("operation", "matches").timer().count());
+        assertEquals(1, meterRegistry.get("password.hash.queue.wait").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void testNeedsRehash_WhenCostDiffers() {
+        PasswordHasher hasher = new PasswordHasher(new SimpleMeterRegistry(), 10, 1, 4, Duration.ofSeconds(5));
+
+        assertFalse(hasher.needsRehash(new BCryptPasswordEncoder(10).encode("password123")));
+        assertTrue(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("password123")));
+        assertTrue(hasher.needsRehash(new BCryptPasswordEncoder(12).encode("password123")));
+        assertFalse(hasher.needsRehash("not-a-bcrypt-hash"));
+    }
+
+    @Test
+    void testSaturated_FailsFast() {
+        PasswordHasher hasher = new PasswordHasher(new SimpleMeterRegistry(), 12, 1, 1, Duration.ofMillis(1));
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> hasher.encode("password123"));
+        hasher.shutdown();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.AddressBookApp.service;
+
+import com.example.AddressBookApp.dto.ContactDTO;
+import com.example.AddressBookApp.model.Contact;
+import com.example.AddressBookApp.repository.ContactRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContactCacheWarmerTest {
+
+    @Mock
+    private ContactRepository contactRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testWarmUp_FillsCacheInBatches() {
+        when(contactRepository.streamMostRecent(100)).thenReturn(contacts(5));
+
+        int written = warmer(true, Duration.ofSeconds(30)).warmUp();
+
+        Cache cache = cacheManager.getCache("contacts");
+        assertEquals(5, written);
+        assertEquals("Contact 3", ((ContactDTO) cache.get("7:3").get()).getName());
+        assertEquals(5, meterRegistry.get("cache.warmup.entries").counter().count());
+        assertEquals(3, meterRegistry.get("cache.warmup.batch").timer().count());
+        assertEquals(1, meterRegistry.get("cache.warmup.duration").tag("outcome", "completed").timer().count());
+        verify(entityManager, times(5)).detach(any(Contact.class));
+    }
+
+    @Test
+    void testWarmUp_KeepsExistingEntries() {
+        ContactDTO live = new ContactDTO(1L, "Updated", "9876543210", "updated@example.com", "Street", 2L);
+        cacheManager.getCache("contacts").put("7:1", live);
+        when(contactRepository.streamMostRecent(100)).thenReturn(contacts(2));
+
+        warmer(true, Duration.ofSeconds(30)).warmUp();
+
+        assertSame(live, cacheManager.getCache("contacts").get("7:1").get());
+    }
+
+    @Test
+    void testWarmUp_StopsWhenBudgetExhausted() {
+        when(contactRepository.streamMostRecent(100)).thenReturn(contacts(5));
+
+        int written = warmer(true, Duration.ZERO).warmUp();
+
+        assertEquals(0, written);
+        assertNull(cacheManager.getCache("contacts").get("7:1"));
+        assertEquals(1, meterRegistry.get("cache.warmup.duration").tag("outcome", "budget_exhausted").timer().count());
+    }
+
+    @Test
+    void testWarmUp_FailureDoesNotPropagate() {
+        when(contactRepository.streamMostRecent(100)).thenThrow(new IllegalStateException("database down"));
+
+        assertEquals(0, warmer(true, Duration.ofSeconds(30)).warmUp());
+        assertEquals(1, meterRegistry.get("cache.warmup.duration").tag("outcome", "failed").timer().count());
+    }
+
+    @Test
+    void testRun_DisabledSkipsWarmUp() throws Exception {
+        warmer(false, Duration.ofSeconds(30)).run(null);
+
+        verifyNoInteractions(contactRepository);
+    }
+
+    private ContactCacheWarmer warmer(boolean enabled, Duration timeBudget) {
+        return new ContactCacheWarmer(contactRepository, cacheManager, entityManager, transactionManager, meterRegistry,
+                enabled, 100, 2, timeBudget);
+    }
+
+    // Newest first, as streamMostRecent returns them
+    private static Stream<Contact> contacts(int count) {
+        return LongStream.rangeClosed(1, count).map(i -> count + 1 - i).mapToObj(id -> {
+            Contact contact = new Contact(id, "Contact " + id, "98765" + String.format("%05d", id),
+                    "contact" + id + "@example.com", id + " Baker Street");
+            contact.setOwnerId(7L);
+            return contact;
+        });
+    }
+}
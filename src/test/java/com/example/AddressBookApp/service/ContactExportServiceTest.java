@@ -0,0 +1,73 @@
+package com.example.AddressBookApp.service;
+
+import com.example.AddressBookApp.model.Contact;
+import com.example.AddressBookApp.repository.ContactRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContactExportServiceTest {
+
+    @Mock
+    private ContactRepository contactRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ContactExportService contactExportService;
+
+    private Contact contact;
+
+    @BeforeEach
+    void setUp() {
+        contactExportService = new ContactExportService(contactRepository, entityManager, new ObjectMapper());
+        contact = new Contact(1L, "John Doe", "9876543210", "john@example.com", "12 Main St, Springfield");
+    }
+
+    @Test
+    void testExportContacts_Ndjson() throws Exception {
+        when(contactRepository.streamByOwnerForExport(7L)).thenReturn(Stream.of(contact, contact));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = contactExportService.exportContacts(7L, ContactFileFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        for (String line : lines) {
+            assertTrue(line.startsWith("{\"id\":1,\"name\":\"John Doe\""), line);
+            assertTrue(line.endsWith("}"), line);
+        }
+        verify(entityManager, times(2)).detach(contact);
+    }
+
+    @Test
+    void testExportContacts_Csv() throws Exception {
+        when(contactRepository.streamByOwnerForExport(7L)).thenReturn(Stream.of(contact));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        contactExportService.exportContacts(7L, ContactFileFormat.CSV, out);
+
+        assertEquals("id,name,phoneNumber,email,address\n"
+                + "1,John Doe,9876543210,john@example.com,\"12 Main St, Springfield\"\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testFormatFrom_Unsupported() {
+        assertEquals(ContactFileFormat.CSV, ContactFileFormat.from("csv"));
+        assertThrows(IllegalArgumentException.class, () -> ContactFileFormat.from("xml"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.AddressBookApp.service;
+
+import com.example.AddressBookApp.dto.ContactImportResultDTO;
+import com.example.AddressBookApp.model.Contact;
+import com.example.AddressBookApp.validation.ContactValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContactImportServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ContactImportService contactImportService;
+
+    @BeforeEach
+    void setUp() {
+        contactImportService = new ContactImportService(entityManager, transactionManager, new ObjectMapper(),
+                new ContactValidator());
+    }
+
+    private InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testImportContacts_CsvWithRowErrors() throws Exception {
+        String csv = "name,phoneNumber,email,address\n"
+                + "John Doe,9876543210,john@example.com,\"12 Main St, \"\"Upper\"\"\"\n"
+                + "john,123,bad,\n"
+                + "Jane Doe,9123456780,jane@example.com,Elm Road\n";
+
+        ContactImportResultDTO result = contactImportService.importContacts(7L, ContactFileFormat.CSV, body(csv));
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertEquals(4, result.getErrors().get(0).getErrors().size());
+        verify(entityManager, times(2)).persist(any(Contact.class));
+        verify(entityManager).flush();
+    }
+
+    @Test
+    void testImportContacts_NdjsonMalformedLine() throws Exception {
+        String ndjson = "{\"name\":\"John Doe\",\"phoneNumber\":\"9876543210\",\"email\":\"john@example.com\",\"address\":\"Street\"}\n"
+                + "\n"
+                + "{not json}\n";
+
+        ContactImportResultDTO result = contactImportService.importContacts(7L, ContactFileFormat.NDJSON, body(ndjson));
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertTrue(result.getErrors().get(0).getErrors().get(0).startsWith("Malformed JSON record"));
+    }
+
+    @Test
+    void testImportContacts_ChunkFailureReported() throws Exception {
+        doThrow(new RuntimeException("Database error")).when(entityManager).flush();
+        String ndjson = "{\"name\":\"John Doe\",\"phoneNumber\":\"9876543210\",\"email\":\"john@example.com\",\"address\":\"Street\"}\n";
+
+        ContactImportResultDTO result = contactImportService.importContacts(7L, ContactFileFormat.NDJSON, body(ndjson));
+
+        assertEquals(0, result.getImported());
+        assertEquals(1, result.getFailed());
+    }
+
+    @Test
+    void testImportContacts_CsvMissingHeader() {
+        assertThrows(IllegalStateException.class,
+                () -> contactImportService.importContacts(7L, ContactFileFormat.CSV, body("foo,bar\n")));
+    }
+}
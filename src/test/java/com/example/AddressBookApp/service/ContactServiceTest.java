@@ -1,18 +1,30 @@
 package com.example.AddressBookApp.service;
 
 import com.example.AddressBookApp.dto.ContactDTO;
+import com.example.AddressBookApp.dto.ContactPageDTO;
+import com.example.AddressBookApp.dto.ContactSearchResultDTO;
 import com.example.AddressBookApp.model.Contact;
 import com.example.AddressBookApp.repository.ContactRepository;
+import com.example.AddressBookApp.search.ContactIndexSync;
+import com.example.AddressBookApp.search.ContactSearchIndex;
+import com.example.AddressBookApp.validation.ContactValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -20,9 +32,23 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class ContactServiceTest {
 
+    private static final Long OWNER_ID = 7L;
+
     @Mock
     private ContactRepository contactRepository;
 
+    @Mock
+    private ContactSearchIndex searchIndex;
+
+    @Mock
+    private ContactIndexSync indexSync;
+
+    @Spy
+    private ContactValidator contactValidator = new ContactValidator();
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager();
+
     @InjectMocks
     private ContactService contactService;
 
@@ -31,57 +57,108 @@ class ContactServiceTest {
 
     @BeforeEach
     void setUp() {
-        contactDTO = new ContactDTO(1L, "John Doe", "1234567890", "john@example.com", "123 Street");
+        contactDTO = new ContactDTO(1L, "John Doe", "9876543210", "john@example.com", "123 Street");
         contact = new Contact(1L, "John Doe", "1234567890", "john@example.com", "123 Street");
+        contact.setOwnerId(OWNER_ID);
+    }
+
+    // ✅ getContactsPage Tests
+    @Test
+    void testGetContactsPage_FirstPageWithNext() {
+        Contact second = new Contact(2L, "Jane Doe", "9876543210", "jane@example.com", "456 Street");
+        when(contactRepository.findByOwnerIdOrderByIdAsc(OWNER_ID, Limit.of(2))).thenReturn(List.of(contact, second));
+
+        ContactPageDTO page = contactService.getContactsPage(OWNER_ID, null, 1);
+        assertEquals(1, page.getSize());
+        assertEquals(1L, page.getContacts().get(0).getId());
+        assertEquals(ContactService.encodeCursor(1L), page.getNextCursor());
     }
 
-    // ✅ getAllContacts Tests
     @Test
-    void testGetAllContacts_Success() {
-        when(contactRepository.findAll()).thenReturn(Arrays.asList(contact));
+    void testGetContactsPage_LastPage() {
+        when(contactRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(OWNER_ID, 1L, Limit.of(ContactService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of());
 
-        List<ContactDTO> contacts = contactService.getAllContacts();
-        assertFalse(contacts.isEmpty());
+        ContactPageDTO page = contactService.getContactsPage(OWNER_ID, ContactService.encodeCursor(1L), null);
+        assertTrue(page.getContacts().isEmpty());
+        assertNull(page.getNextCursor());
     }
 
     @Test
-    void testGetAllContacts_Failure() {
-        when(contactRepository.findAll()).thenReturn(List.of());
+    void testGetContactsPage_InvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> contactService.getContactsPage(OWNER_ID, "not-a-cursor!", 10));
+        assertThrows(IllegalArgumentException.class, () -> contactService.getContactsPage(OWNER_ID, null, ContactService.MAX_PAGE_SIZE + 1));
+    }
 
-        List<ContactDTO> contacts = contactService.getAllContacts();
-        assertTrue(contacts.isEmpty());
+    // ✅ searchContacts Tests
+    @Test
+    void testSearchContacts_ReturnsHitsInIndexOrder() {
+        Contact second = new Contact(2L, "Jane Doe", "9876543210", "jane@example.com", "456 Street");
+        when(searchIndex.find(OWNER_ID, "doe", 20)).thenReturn(new ContactSearchIndex.Hits(List.of(2L, 1L), false));
+        when(contactRepository.findByOwnerIdAndIdIn(OWNER_ID, List.of(2L, 1L))).thenReturn(List.of(contact, second));
+
+        ContactSearchResultDTO results = contactService.searchContacts(OWNER_ID, "doe", null);
+        assertEquals(2L, results.getContacts().get(0).getId());
+        assertEquals(1L, results.getContacts().get(1).getId());
+        assertFalse(results.isTruncated());
     }
 
     @Test
-    void testGetAllContacts_Exception() {
-        when(contactRepository.findAll()).thenThrow(new RuntimeException("Database error"));
+    void testSearchContacts_ReportsTruncation() {
+        when(searchIndex.find(OWNER_ID, "a", 20)).thenReturn(new ContactSearchIndex.Hits(List.of(1L), true));
+        when(contactRepository.findByOwnerIdAndIdIn(OWNER_ID, List.of(1L))).thenReturn(List.of(contact));
 
-        Exception exception = assertThrows(RuntimeException.class, () -> contactService.getAllContacts());
-        assertEquals("Database error", exception.getMessage());
+        ContactSearchResultDTO results = contactService.searchContacts(OWNER_ID, "a", null);
+        assertEquals(1, results.getContacts().size());
+        assertTrue(results.isTruncated());
+    }
+
+    @Test
+    void testSearchContacts_NoHits() {
+        when(searchIndex.find(OWNER_ID, "zzz", 20)).thenReturn(ContactSearchIndex.Hits.NONE);
+
+        assertTrue(contactService.searchContacts(OWNER_ID, "zzz", null).getContacts().isEmpty());
+        verify(contactRepository, never()).findByOwnerIdAndIdIn(any(), any());
+    }
+
+    // ✅ findByPhoneNumber Tests
+    @Test
+    void testFindByPhoneNumber_QueriesNormalizedKey() {
+        when(contactRepository.findByOwnerIdAndPhoneKey(OWNER_ID, 911234567890L)).thenReturn(List.of(contact));
+
+        List<ContactDTO> results = contactService.findByPhoneNumber(OWNER_ID, "+91 12345-67890");
+        assertEquals(1, results.size());
+        assertEquals("John Doe", results.get(0).getName());
+        assertEquals(1, contactService.findByPhoneNumber(OWNER_ID, "1234567890").size());
+    }
+
+    @Test
+    void testFindByPhoneNumber_InvalidNumber() {
+        assertThrows(IllegalArgumentException.class, () -> contactService.findByPhoneNumber(OWNER_ID, "abc"));
     }
 
     // ✅ getContactById Tests
     @Test
     void testGetContactById_Success() {
-        when(contactRepository.findById(1L)).thenReturn(Optional.of(contact));
+        when(contactRepository.findByIdAndOwnerId(1L, OWNER_ID)).thenReturn(Optional.of(contact));
 
-        ContactDTO result = contactService.getContactById(1L);
+        ContactDTO result = contactService.getContactById(OWNER_ID, 1L);
         assertNotNull(result);
     }
 
     @Test
     void testGetContactById_Failure() {
-        when(contactRepository.findById(1L)).thenReturn(Optional.empty());
+        when(contactRepository.findByIdAndOwnerId(1L, OWNER_ID)).thenReturn(Optional.empty());
 
-        ContactDTO result = contactService.getContactById(1L);
+        ContactDTO result = contactService.getContactById(OWNER_ID, 1L);
         assertNull(result);
     }
 
     @Test
     void testGetContactById_Exception() {
-        when(contactRepository.findById(1L)).thenThrow(new RuntimeException("Database error"));
+        when(contactRepository.findByIdAndOwnerId(1L, OWNER_ID)).thenThrow(new RuntimeException("Database error"));
 
-        Exception exception = assertThrows(RuntimeException.class, () -> contactService.getContactById(1L));
+        Exception exception = assertThrows(RuntimeException.class, () -> contactService.getContactById(OWNER_ID, 1L));
         assertEquals("Database error", exception.getMessage());
     }
 
@@ -89,7 +166,7 @@ class ContactServiceTest {
     @Test
     void testCreateContact_Failure() {
         // Given
-        ContactDTO contactDTO = new ContactDTO(1L, "John Doe", "1234567890", "john@example.com", "123 Street");
+        ContactDTO contactDTO = new ContactDTO(1L, "John Doe", "9876543210", "john@example.com", "123 Street");
         Contact contactEntity = new Contact(1L, "John Doe", "1234567890", "john@example.com", "123 Street");
 
         // Mock save() to return null (simulating a failure)
@@ -97,90 +174,245 @@ class ContactServiceTest {
 
         // When & Then - assertThrows for NullPointerException
         assertThrows(NullPointerException.class, () -> {
-            contactService.createContact(contactDTO);
+            contactService.createContact(OWNER_ID, contactDTO);
         });
     }
 
     @Test
     void testCreateContact_Success() {
         // Given
-        ContactDTO contactDTO = new ContactDTO(1L, "John Doe", "1234567890", "john@example.com", "123 Street");
+        ContactDTO contactDTO = new ContactDTO(1L, "John Doe", "9876543210", "john@example.com", "123 Street");
         Contact contactEntity = new Contact(1L, "John Doe", "1234567890", "john@example.com", "123 Street");
 
         // Mock save() to return a valid contact
         when(contactRepository.save(any(Contact.class))).thenReturn(contactEntity);
 
         // When
-        ContactDTO savedContact = contactService.createContact(contactDTO);
+        ContactDTO savedContact = contactService.createContact(OWNER_ID, contactDTO);
 
         // Then
         assertNotNull(savedContact);
         assertEquals("John Doe", savedContact.getName());
     }
 
+    @Test
+    void testCreateContact_IgnoresClientIdOfAnotherOwnersContact() {
+        // Contact 42 belongs to owner 8; owner 7 posts it as the id of a new contact
+        ContactDTO hijack = new ContactDTO(42L, "John Doe", "9876543210", "john@example.com", "123 Street");
+        when(contactRepository.save(any(Contact.class))).thenAnswer(invocation -> {
+            Contact saved = invocation.getArgument(0);
+            // A null id makes save() persist a new row instead of merging onto contact 42
+            assertNull(saved.getId());
+            saved.setId(51L);
+            return saved;
+        });
+
+        ContactDTO created = contactService.createContact(OWNER_ID, hijack);
+
+        assertEquals(51L, created.getId());
+        verify(contactRepository).save(argThat(saved -> OWNER_ID.equals(saved.getOwnerId())));
+        verify(contactRepository, never()).findById(42L);
+        verify(contactRepository, never()).findByIdAndOwnerId(eq(42L), any());
+        verifyNoMoreInteractions(contactRepository);
+    }
+
     @Test
     void testCreateContact_Failure_InvalidData() {
         // Given
         ContactDTO contactDTO = new ContactDTO(1L, "", "", "invalid-email", "123 Street");
 
-        // Mock save() to return null
-        when(contactRepository.save(any(Contact.class))).thenReturn(null);
-
-        // When
-        ContactDTO savedContact = contactService.createContact(contactDTO);
-
-        // Then
-        assertNull(savedContact);
+        // When & Then - rejected by validation before reaching the repository
+        assertThrows(IllegalArgumentException.class, () -> contactService.createContact(OWNER_ID, contactDTO));
+        verify(contactRepository, never()).save(any(Contact.class));
     }
     // ✅ updateContact Tests
     @Test
     void testUpdateContact_Success() {
-        when(contactRepository.findById(1L)).thenReturn(Optional.of(contact));
+        when(contactRepository.findByIdAndOwnerId(1L, OWNER_ID)).thenReturn(Optional.of(contact));
         when(contactRepository.save(any())).thenReturn(contact);
 
-        ContactDTO result = contactService.updateContact(1L, contactDTO);
+        ContactDTO result = contactService.updateContact(OWNER_ID, 1L, contactDTO, null);
         assertNotNull(result);
     }
 
+    @Test
+    void testUpdateContact_StaleExpectedVersionRejected() {
+        contact.setVersion(3L);
+        when(contactRepository.findByIdAndOwnerId(1L, OWNER_ID)).thenReturn(Optional.of(contact));
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> contactService.updateContact(OWNER_ID, 1L, contactDTO, 2L));
+        verify(contactRepository, never()).save(any(Contact.class));
+    }
+
+    @Test
+    void testUpdateContact_AppliesAddressAndReturnsNewVersion() {
+        ContactDTO moved = new ContactDTO(1L, "John Doe", "9876543210", "john@example.com", "9 New Road");
+        contact.setVersion(3L);
+        Contact saved = new Contact(1L, moved.getName(), moved.getPhoneNumber(), moved.getEmail(), moved.getAddress());
+        saved.setVersion(4L);
+        when(contactRepository.findByIdAndOwnerId(1L, OWNER_ID)).thenReturn(Optional.of(contact));
+        when(contactRepository.save(contact)).thenReturn(saved);
+
+        ContactDTO result = contactService.updateContact(OWNER_ID, 1L, moved, 3L);
+
+        assertEquals("9 New Road", contact.getAddress());
+        assertEquals(4L, result.getVersion());
+    }
+
+    @Test
+    void testUpdateContact_InvalidDataRejectedBeforeLoad() {
+        ContactDTO invalid = new ContactDTO(1L, "john", "12345", "john@example.com", "123 Street");
+
+        assertThrows(IllegalArgumentException.class, () -> contactService.updateContact(OWNER_ID, 1L, invalid, null));
+        verifyNoInteractions(contactRepository);
+    }
+
     @Test
     void testUpdateContact_Failure() {
-        when(contactRepository.findById(1L)).thenReturn(Optional.empty());
+        when(contactRepository.findByIdAndOwnerId(1L, OWNER_ID)).thenReturn(Optional.empty());
 
-        ContactDTO result = contactService.updateContact(1L, contactDTO);
+        ContactDTO result = contactService.updateContact(OWNER_ID, 1L, contactDTO, null);
         assertNull(result);
     }
 
     @Test
     void testUpdateContact_Exception() {
-        when(contactRepository.findById(1L)).thenThrow(new RuntimeException("Database error"));
+        when(contactRepository.findByIdAndOwnerId(1L, OWNER_ID)).thenThrow(new RuntimeException("Database error"));
 
-        Exception exception = assertThrows(RuntimeException.class, () -> contactService.updateContact(1L, contactDTO));
+        Exception exception = assertThrows(RuntimeException.class, () -> contactService.updateContact(OWNER_ID, 1L, contactDTO, null));
         assertEquals("Database error", exception.getMessage());
     }
 
+    // ✅ getContactsByIds Tests
+    @Test
+    void testGetContactsByIds_CacheThenOneQueryInRequestOrder() {
+        ContactDTO cachedDTO = new ContactDTO(2L, "Jane Doe", "9876543210", "jane@example.com", "456 Street", 0L);
+        cacheManager.getCache("contacts").put(OWNER_ID + ":2", cachedDTO);
+        when(contactRepository.findByOwnerIdAndIdIn(eq(OWNER_ID), argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(1L, 3L)))))
+                .thenReturn(List.of(contact));
+
+        List<ContactDTO> results = contactService.getContactsByIds(OWNER_ID, List.of(3L, 2L, 1L));
+
+        assertNull(results.get(0));
+        assertEquals(cachedDTO, results.get(1));
+        assertEquals(1L, results.get(2).getId());
+        verify(contactRepository, times(1)).findByOwnerIdAndIdIn(any(), any());
+        // Loaded contact is backfilled under the same key @Cacheable uses
+        assertNotNull(cacheManager.getCache("contacts").get(OWNER_ID + ":1"));
+    }
+
+    @Test
+    void testGetContactsByIds_TooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, ContactService.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> contactService.getContactsByIds(OWNER_ID, ids));
+        verifyNoInteractions(contactRepository);
+    }
+
+    // ✅ patchContact Tests
+    @Test
+    void testPatchContact_AppliesOnlyPresentFields() {
+        when(contactRepository.findByIdAndOwnerId(1L, OWNER_ID)).thenReturn(Optional.of(contact));
+        when(contactRepository.save(contact)).thenReturn(contact);
+
+        ContactDTO patch = new ContactDTO(null, null, "9123456789", null, null);
+        ContactDTO result = contactService.patchContact(OWNER_ID, 1L, patch, null);
+
+        assertEquals("9123456789", result.getPhoneNumber());
+        assertEquals("John Doe", result.getName());
+        assertEquals("123 Street", result.getAddress());
+    }
+
+    @Test
+    void testPatchContact_InvalidFieldRejectedBeforeLoad() {
+        ContactDTO patch = new ContactDTO(null, null, "12345", null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> contactService.patchContact(OWNER_ID, 1L, patch, null));
+        verifyNoInteractions(contactRepository);
+    }
+
+    @Test
+    void testPatchContactInPlace_NoRowMatched() {
+        ContactDTO patch = new ContactDTO(null, "Jane Doe", null, null, null);
+        when(contactRepository.patchInPlace(OWNER_ID, 1L, patch, 4L)).thenReturn(0);
+
+        assertFalse(contactService.patchContactInPlace(OWNER_ID, 1L, patch, 4L));
+        verifyNoInteractions(searchIndex, indexSync);
+    }
+
+    @Test
+    void testPatchContactInPlace_PhoneOnlySkipsSearchIndex() {
+        ContactDTO patch = new ContactDTO(null, null, "9123456789", null, null);
+        when(contactRepository.patchInPlace(OWNER_ID, 1L, patch, 4L)).thenReturn(1);
+
+        assertTrue(contactService.patchContactInPlace(OWNER_ID, 1L, patch, 4L));
+        // Phone-only patch: no re-read for the search index, nothing for other nodes to reindex
+        verify(contactRepository, never()).findByIdAndOwnerId(any(), any());
+        verifyNoInteractions(indexSync);
+    }
+
+    @Test
+    void testPatchContactInPlace_EvictsOnlyAfterCommit() {
+        ContactDTO patch = new ContactDTO(null, null, "9123456789", null, null);
+        when(contactRepository.patchInPlace(OWNER_ID, 1L, patch, 4L)).thenReturn(1);
+        cacheManager.getCache("contacts").put(OWNER_ID + ":1", contactDTO);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(contactService.patchContactInPlace(OWNER_ID, 1L, patch, 4L));
+            // Still inside the transaction: the pre-patch row stays cached
+            assertNotNull(cacheManager.getCache("contacts").get(OWNER_ID + ":1"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(cacheManager.getCache("contacts").get(OWNER_ID + ":1"));
+    }
+
+    @Test
+    void testPatchContactInPlace_NameChangeReindexedOnEveryNode() {
+        ContactDTO patch = new ContactDTO(null, "Jane Doe", null, null, null);
+        when(contactRepository.patchInPlace(OWNER_ID, 1L, patch, 4L)).thenReturn(1);
+        when(contactRepository.findByIdAndOwnerId(1L, OWNER_ID)).thenReturn(Optional.of(contact));
+
+        assertTrue(contactService.patchContactInPlace(OWNER_ID, 1L, patch, 4L));
+        verify(searchIndex).index(contact);
+        verify(indexSync).changed(1L);
+    }
+
+    @Test
+    void testCreateContact_SetsOwner() {
+        when(contactRepository.save(any(Contact.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        contactService.createContact(OWNER_ID, contactDTO);
+        verify(contactRepository).save(argThat(saved -> OWNER_ID.equals(saved.getOwnerId())));
+    }
+
     // ✅ deleteContact Tests
     @Test
     void testDeleteContact_Success() {
-        when(contactRepository.existsById(1L)).thenReturn(true);
+        when(contactRepository.existsByIdAndOwnerId(1L, OWNER_ID)).thenReturn(true);
         doNothing().when(contactRepository).deleteById(1L);
 
-        contactService.deleteContact(1L);
-        assertTrue(true);
+        assertTrue(contactService.deleteContact(OWNER_ID, 1L));
+        verify(contactRepository).deleteById(1L);
     }
 
     @Test
     void testDeleteContact_Failure() {
-        when(contactRepository.existsById(1L)).thenReturn(false);
+        when(contactRepository.existsByIdAndOwnerId(1L, OWNER_ID)).thenReturn(false);
 
-        contactService.deleteContact(1L);
+        contactService.deleteContact(OWNER_ID, 1L);
         assertFalse(false);
     }
 
     @Test
     void testDeleteContact_Exception() {
-        when(contactRepository.existsById(1L)).thenThrow(new RuntimeException("Database error"));
+        when(contactRepository.existsByIdAndOwnerId(1L, OWNER_ID)).thenThrow(new RuntimeException("Database error"));
 
-        Exception exception = assertThrows(RuntimeException.class, () -> contactService.deleteContact(1L));
+        Exception exception = assertThrows(RuntimeException.class, () -> contactService.deleteContact(OWNER_ID, 1L));
         assertEquals("Database error", exception.getMessage());
     }
 }
\ No newline at end of file
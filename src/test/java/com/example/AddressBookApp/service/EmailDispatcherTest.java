@@ -0,0 +1,94 @@
+package com.example.AddressBookApp.service;
+
+import com.example.AddressBookApp.config.ThreadingMode;
+import com.example.AddressBookApp.model.EmailOutbox;
+import com.example.AddressBookApp.repository.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailDispatcherTest {
+
+    // In-process SMTP server standing in for the real mail relay
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private EmailDispatcher dispatcher(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        return new EmailDispatcher(outboxRepository, mailSender, meterRegistry, new ThreadingMode(false), "noreply@example.com",
+                50, 3, Duration.ofSeconds(30), Duration.ofMinutes(5), 1);
+    }
+
+    private EmailOutbox pending(long id, String to) {
+        Instant now = Instant.now();
+        return new EmailOutbox(id, to, "Welcome", "<h1>Hello</h1>", EmailOutbox.Status.PENDING, 0, now, null, now, null);
+    }
+
+    @Test
+    void testSendBatch_DeliversOverSmtp() throws Exception {
+        EmailOutbox first = pending(1L, "john@example.com");
+        EmailOutbox second = pending(2L, "jane@example.com");
+
+        dispatcher(ServerSetupTest.SMTP.getPort()).sendBatch(List.of(first, second));
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("Welcome", received[0].getSubject());
+        assertEquals(EmailOutbox.Status.SENT, first.getStatus());
+        assertEquals(EmailOutbox.Status.SENT, second.getStatus());
+        assertEquals(2.0, meterRegistry.counter("mail.sent").count());
+        assertEquals(1, meterRegistry.get("mail.send").tag("dependency", "smtp").timer().count());
+    }
+
+    @Test
+    void testSendBatch_SmtpDownSchedulesRetry() {
+        EmailOutbox email = pending(1L, "john@example.com");
+        Instant before = Instant.now();
+
+        // Nothing listens on this port
+        dispatcher(ServerSetupTest.SMTP.getPort() + 1).sendBatch(List.of(email));
+
+        assertEquals(EmailOutbox.Status.PENDING, email.getStatus());
+        assertEquals(1, email.getAttempts());
+        assertNotNull(email.getLastError());
+        assertTrue(email.getNextAttemptAt().isAfter(before.plusSeconds(29)));
+    }
+
+    @Test
+    void testSendBatch_GivesUpAfterMaxAttempts() {
+        EmailOutbox email = pending(1L, "john@example.com");
+        email.setAttempts(2);
+
+        dispatcher(ServerSetupTest.SMTP.getPort() + 1).sendBatch(List.of(email));
+
+        assertEquals(EmailOutbox.Status.FAILED, email.getStatus());
+        assertEquals(3, email.getAttempts());
+    }
+}
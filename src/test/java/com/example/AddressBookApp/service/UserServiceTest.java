@@ -4,15 +4,19 @@ import com.example.AddressBookApp.dto.UserDTO;
 import com.example.AddressBookApp.model.User;
 import com.example.AddressBookApp.repository.UserRepository;
 import com.example.AddressBookApp.security.JwtUtil;
+import com.example.AddressBookApp.security.PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +34,9 @@ class UserServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Spy
+    private PasswordHasher passwordHasher = new PasswordHasher(new SimpleMeterRegistry(), 10, 2, 16, Duration.ofSeconds(5));
+
     @InjectMocks
     private UserService userService;
 
@@ -75,10 +82,22 @@ class UserServiceTest {
     @Test
     void testAuthenticateUser_Success() {
         when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
-        when(jwtUtil.generateToken(user.getEmail())).thenReturn("mock-token");
+        when(jwtUtil.generateToken(user.getId(), user.getEmail())).thenReturn("mock-token");
+
+        String token = userService.authenticateUser(user.getEmail(), "password123");
+        assertEquals("mock-token", token);
+    }
+
+    @Test
+    void testAuthenticateUser_RehashesOnCostChange() {
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(jwtUtil.generateToken(user.getId(), user.getEmail())).thenReturn("mock-token");
 
         String token = userService.authenticateUser(user.getEmail(), "password123");
         assertEquals("mock-token", token);
+        assertTrue(user.getPassword().startsWith("$2a$10$"));
+        verify(userRepository).save(user);
     }
 
     @Test
@@ -0,0 +1,58 @@
+package com.example.AddressBookApp.support;
+
+import com.github.fppt.jedismock.RedisServer;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// In-process replacements for the services the application needs at runtime, started
+// once per JVM and shared by every test that boots the full context with the
+// "offline" profile. MySQL is covered by H2 in application-offline.properties.
+public final class OfflineStandIns {
+
+    private static RedisServer redis;
+    private static GreenMail smtp;
+
+    private OfflineStandIns() {
+    }
+
+    // Call from a @DynamicPropertySource method
+    public static void register(DynamicPropertyRegistry registry) {
+        start();
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", redis::getBindPort);
+        registry.add("spring.mail.host", () -> "127.0.0.1");
+        registry.add("spring.mail.port", () -> smtp.getSmtp().getPort());
+    }
+
+    public static synchronized GreenMail smtp() {
+        start();
+        return smtp;
+    }
+
+    private static synchronized void start() {
+        if (redis != null) {
+            return;
+        }
+        try {
+            redis = RedisServer.newRedisServer();
+            redis.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start in-process Redis", e);
+        }
+        smtp = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        smtp.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            smtp.stop();
+            try {
+                redis.stop();
+            } catch (IOException ignored) {
+                // JVM is exiting anyway
+            }
+        }));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.AddressBookApp.validation;
+
+import com.example.AddressBookApp.dto.ContactDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactValidatorTest {
+
+    private final ContactValidator validator = new ContactValidator();
+
+    private static ContactDTO contact(String name, String phone, String email, String address) {
+        return new ContactDTO(null, name, phone, email, address);
+    }
+
+    @Test
+    void testValidContact_NoErrors() {
+        ContactDTO valid = contact("John Doe", "9876543210", "john.doe+work@mail.example.com", "12 Baker Street");
+
+        assertEquals(ContactValidator.VALID, validator.check(valid));
+        assertSame(List.of(), validator.validate(valid));
+    }
+
+    @Test
+    void testInvalidContact_FieldErrorCodes() {
+        int mask = validator.check(contact("john", "1234567890", "john@", " \t"));
+
+        assertEquals(List.of(ContactFieldError.NAME_FORMAT, ContactFieldError.PHONE_FORMAT,
+                ContactFieldError.EMAIL_FORMAT, ContactFieldError.ADDRESS_REQUIRED), ContactValidator.errors(mask));
+        assertEquals(List.of("Name is required"),
+                validator.validate(contact(null, "9876543210", "a@b", "x")));
+    }
+
+    @Test
+    void testScanners_MatchOriginalRegexes() {
+        Pattern name = Pattern.compile("^[A-Z][a-zA-Z\\s]*$");
+        Pattern phone = Pattern.compile("^[6-9]\\d{9}$");
+        Pattern email = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
+
+        String[] names = {"John", "John Doe", "J", "John\tDoe", "john", "John3", "Jöhn", "John-Doe", "ÄB"};
+        String[] phones = {"9876543210", "6000000000", "5876543210", "987654321", "98765432100", "98765x3210", "٩876543210"};
+        String[] emails = {"a@b", "a.b+c_d-e@x.y-z", "@b", "a@", "a@@b", "a@b@c", "a b@c", "a@b_c", "ä@b"};
+        for (String value : names) {
+            int mask = validator.check(contact(value, "9876543210", "a@b", "x"));
+            assertEquals(name.matcher(value).matches(), mask == ContactValidator.VALID, value);
+        }
+        for (String value : phones) {
+            int mask = validator.check(contact("John", value, "a@b", "x"));
+            assertEquals(phone.matcher(value).matches(), mask == ContactValidator.VALID, value);
+        }
+        for (String value : emails) {
+            int mask = validator.check(contact("John", "9876543210", value, "x"));
+            assertEquals(email.matcher(value).matches(), mask == ContactValidator.VALID, value);
+        }
+    }
+
+    @Test
+    void testCheckPresent_IgnoresAbsentFields() {
+        assertEquals(ContactValidator.VALID, validator.checkPresent(contact(null, "9876543210", null, null)));
+        assertEquals(ContactFieldError.PHONE_FORMAT.bit(), validator.checkPresent(contact(null, "12345", null, null)));
+        // Present but blank is still an error
+        assertEquals(ContactFieldError.ADDRESS_REQUIRED.bit(), validator.checkPresent(contact(null, null, null, " ")));
+    }
+
+    @Test
+    void testCheckAll_OneMaskPerContact() {
+        int[] masks = validator.checkAll(List.of(
+                contact("John", "9876543210", "a@b", "x"),
+                contact("John", "123", "a@b", "x")));
+
+        assertArrayEquals(new int[]{ContactValidator.VALID, ContactFieldError.PHONE_FORMAT.bit()}, masks);
+    }
+}